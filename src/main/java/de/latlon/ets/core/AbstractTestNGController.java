@@ -8,6 +8,7 @@ import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 import javax.xml.transform.Source;
@@ -21,6 +22,8 @@ import com.occamlab.te.spi.executors.testng.TestNGExecutor;
 import com.occamlab.te.spi.jaxrs.TestSuiteController;
 
 import de.latlon.ets.core.util.TestSuiteLogger;
+import de.latlon.ets.core.util.XMLUtils;
+import de.latlon.ets.core.util.XPathExpressionCache;
 
 /**
  * Main test run controller oversees execution of TestNG test suites.
@@ -29,8 +32,14 @@ import de.latlon.ets.core.util.TestSuiteLogger;
  */
 public abstract class AbstractTestNGController implements TestSuiteController {
 
+	private final TestRunScheduler scheduler = TestRunScheduler.fromSystemProperties();
+
 	private TestRunExecutor executor;
 
+	private final WarmUp warmUp = new WarmUp();
+
+	private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+
 	private Properties etsProperties = new Properties();
 
 	/**
@@ -58,29 +67,92 @@ public abstract class AbstractTestNGController implements TestSuiteController {
 		File resultsDir = new File(URI.create(outputDirUri));
 		TestSuiteLogger.log(Level.CONFIG, "Using TestNG config: " + tngSuite);
 		TestSuiteLogger.log(Level.INFO, "Using outputDirPath: " + resultsDir.getAbsolutePath());
+		TestSuiteLogger.log(Level.CONFIG, "Allowing " + scheduler.getMaxConcurrentRuns() + " concurrent and "
+				+ scheduler.getMaxQueuedRuns() + " waiting test runs");
 		// NOTE: setting third argument to 'true' enables the default listeners
 		this.executor = new TestNGExecutor(tngSuite.toString(), resultsDir.getAbsolutePath(), false);
 	}
 
 	@Override
 	public String getCode() {
+		startWarmUp();
 		return etsProperties.getProperty("ets-code");
 	}
 
 	@Override
 	public String getVersion() {
+		startWarmUp();
 		return etsProperties.getProperty("ets-version");
 	}
 
 	@Override
 	public String getTitle() {
+		startWarmUp();
 		return etsProperties.getProperty("ets-title");
 	}
 
+	/**
+	 * Executes a test run as soon as the limit of concurrent runs permits, see
+	 * {@link TestRunScheduler}. The XPath expressions and transformers cached for the
+	 * executing thread are removed afterwards.
+	 */
 	@Override
 	public Source doTestRun(Document testRunArgs) throws Exception {
+		startWarmUp();
 		validateTestRunArgs(testRunArgs);
-		return executor.execute(testRunArgs);
+		return scheduler.execute(() -> {
+			try {
+				return executor.execute(testRunArgs);
+			}
+			finally {
+				XPathExpressionCache.clear();
+				XMLUtils.clearTransformers();
+			}
+		});
+	}
+
+	/**
+	 * @return the scheduler limiting the concurrent test runs of this controller, never
+	 * <code>null</code>
+	 */
+	public TestRunScheduler getScheduler() {
+		return scheduler;
+	}
+
+	/**
+	 * @return the warm-up preloading the resources registered by
+	 * {@link #registerWarmUp(WarmUp)}, never <code>null</code>
+	 */
+	public WarmUp getWarmUp() {
+		startWarmUp();
+		return warmUp;
+	}
+
+	/**
+	 * Registers the resources to preload in the background, e.g. the schemas and
+	 * Schematron schemas validated in every test run. The error messages are always
+	 * preloaded. The default implementation does not register any resources.
+	 *
+	 * Invoked once on the first use of the controller (any of {@link #getCode()},
+	 * {@link #getVersion()}, {@link #getTitle()}, {@link #getWarmUp()} or
+	 * {@link #doTestRun(Document)}), so the subclass is fully constructed. TEAM Engine
+	 * reads the code of a test suite when registering it at deployment, which starts the
+	 * warm-up before the first test run.
+	 * @param warmUp the warm-up to register the resources with, never <code>null</code>
+	 */
+	protected void registerWarmUp(WarmUp warmUp) {
+	}
+
+	private void startWarmUp() {
+		if (warmUpStarted.compareAndSet(false, true)) {
+			try {
+				registerWarmUp(warmUp);
+			}
+			catch (RuntimeException e) {
+				TestSuiteLogger.log(Level.WARNING, "Failed to register warm-up resources", e);
+			}
+			warmUp.start(etsProperties.getProperty("ets-code"));
+		}
 	}
 
 	/**
@@ -0,0 +1,193 @@
+package de.latlon.ets.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import de.latlon.ets.core.util.TestSuiteLogger;
+
+/**
+ * Limits the number of test runs executed at the same time. A run exceeding the limit
+ * waits in a queue of bounded length, first come first served; a run arriving at a full
+ * queue is rejected. Runs are executed in the calling thread.
+ *
+ * The limits of the scheduler created by {@link AbstractTestNGController} are configured
+ * by the following system properties:
+ * <ul>
+ * <li>{@value #MAX_CONCURRENT_RUNS_PROPERTY}: maximum number of concurrent runs (default:
+ * number of available processors)</li>
+ * <li>{@value #MAX_QUEUED_RUNS_PROPERTY}: maximum number of waiting runs (default:
+ * {@value #DEFAULT_MAX_QUEUED_RUNS})</li>
+ * </ul>
+ */
+public class TestRunScheduler {
+
+	/**
+	 * Name of the system property specifying the maximum number of concurrent test runs.
+	 */
+	public static final String MAX_CONCURRENT_RUNS_PROPERTY = "de.latlon.ets.core.run.maxConcurrentRuns";
+
+	/**
+	 * Name of the system property specifying the maximum number of test runs waiting for
+	 * execution.
+	 */
+	public static final String MAX_QUEUED_RUNS_PROPERTY = "de.latlon.ets.core.run.maxQueuedRuns";
+
+	static final int DEFAULT_MAX_QUEUED_RUNS = 16;
+
+	private final Semaphore permits;
+
+	private final int maxConcurrentRuns;
+
+	private final int maxQueuedRuns;
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+	private final AtomicLong completed = new AtomicLong();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final AtomicLong totalWaitMillis = new AtomicLong();
+
+	private final AtomicLong maxWaitMillis = new AtomicLong();
+
+	/**
+	 * @param maxConcurrentRuns the maximum number of concurrent runs, at least 1
+	 * @param maxQueuedRuns the maximum number of waiting runs, 0 rejects all runs
+	 * exceeding the limit of concurrent runs
+	 */
+	public TestRunScheduler(int maxConcurrentRuns, int maxQueuedRuns) {
+		if (maxConcurrentRuns < 1) {
+			throw new IllegalArgumentException("At least one concurrent run must be allowed.");
+		}
+		if (maxQueuedRuns < 0) {
+			throw new IllegalArgumentException("Maximum number of queued runs must not be negative.");
+		}
+		this.maxConcurrentRuns = maxConcurrentRuns;
+		this.maxQueuedRuns = maxQueuedRuns;
+		this.permits = new Semaphore(maxConcurrentRuns, true);
+	}
+
+	/**
+	 * Creates a scheduler with the limits configured by the system properties.
+	 * @return a new scheduler, never <code>null</code>
+	 */
+	public static TestRunScheduler fromSystemProperties() {
+		return new TestRunScheduler(
+				Integer.getInteger(MAX_CONCURRENT_RUNS_PROPERTY, Runtime.getRuntime().availableProcessors()),
+				Integer.getInteger(MAX_QUEUED_RUNS_PROPERTY, DEFAULT_MAX_QUEUED_RUNS));
+	}
+
+	/**
+	 * Executes the given run as soon as the number of concurrent runs permits.
+	 * @param <T> the type of the result
+	 * @param run the test run, never <code>null</code>
+	 * @return the result of the run
+	 * @throws RejectedExecutionException if the wait queue is full
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 * @throws Exception if the run fails
+	 */
+	public <T> T execute(Callable<T> run) throws Exception {
+		long start = System.currentTimeMillis();
+		// a timed tryAcquire respects the fairness, queued runs are not overtaken
+		if (!permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+			int depth = queued.incrementAndGet();
+			if (depth > maxQueuedRuns) {
+				queued.decrementAndGet();
+				rejected.incrementAndGet();
+				throw new RejectedExecutionException("Test run rejected: " + maxConcurrentRuns
+						+ " run(s) in progress and " + maxQueuedRuns + " run(s) waiting.");
+			}
+			maxQueueDepth.accumulateAndGet(depth, Math::max);
+			try {
+				permits.acquire();
+			}
+			finally {
+				queued.decrementAndGet();
+			}
+		}
+		long waitMillis = System.currentTimeMillis() - start;
+		totalWaitMillis.addAndGet(waitMillis);
+		maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+		if (waitMillis > 0) {
+			TestSuiteLogger.log(Level.INFO, "Test run started after waiting " + waitMillis + " ms.");
+		}
+		try {
+			return run.call();
+		}
+		finally {
+			permits.release();
+			completed.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return the number of runs in progress
+	 */
+	public int getRunningCount() {
+		return maxConcurrentRuns - permits.availablePermits();
+	}
+
+	/**
+	 * @return the number of runs waiting for execution
+	 */
+	public int getQueueDepth() {
+		return queued.get();
+	}
+
+	/**
+	 * @return the highest number of runs waiting at the same time
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	/**
+	 * @return the number of finished runs, including failed ones
+	 */
+	public long getCompletedCount() {
+		return completed.get();
+	}
+
+	/**
+	 * @return the number of rejected runs
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	/**
+	 * @return the accumulated time runs waited for execution in milliseconds
+	 */
+	public long getTotalWaitTimeMillis() {
+		return totalWaitMillis.get();
+	}
+
+	/**
+	 * @return the longest time a run waited for execution in milliseconds
+	 */
+	public long getMaxWaitTimeMillis() {
+		return maxWaitMillis.get();
+	}
+
+	/**
+	 * @return the maximum number of concurrent runs
+	 */
+	public int getMaxConcurrentRuns() {
+		return maxConcurrentRuns;
+	}
+
+	/**
+	 * @return the maximum number of waiting runs
+	 */
+	public int getMaxQueuedRuns() {
+		return maxQueuedRuns;
+	}
+
+}
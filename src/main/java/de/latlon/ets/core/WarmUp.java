@@ -0,0 +1,258 @@
+package de.latlon.ets.core;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import de.latlon.ets.core.error.ErrorMessage;
+import de.latlon.ets.core.error.ErrorMessageKey;
+import de.latlon.ets.core.keyword.DfddKeywordRegister;
+import de.latlon.ets.core.keyword.MatchMode;
+import de.latlon.ets.core.util.TestSuiteLogger;
+import de.latlon.ets.core.util.XPath2ExecutableCache;
+import de.latlon.ets.core.validation.SchemaRegistry;
+import de.latlon.ets.core.validation.SchematronValidatorCache;
+
+/**
+ * Collects the resources a test suite uses in (almost) every test run and preloads them
+ * in a background thread, so the first test run does not pay for compiling schemas,
+ * Schematron stylesheets, keyword indexes and XPath 2.0 expressions. The resources are
+ * stored in the caches shared by all threads ({@link SchemaRegistry},
+ * {@link SchematronValidatorCache}, {@link DfddKeywordRegister} and
+ * {@link XPath2ExecutableCache}), a test run started before the warm-up is finished
+ * simply uses or waits for the entries already loaded. XPath 1.0 expressions are not
+ * preloaded as the {@link de.latlon.ets.core.util.XPathExpressionCache} is kept per
+ * thread.
+ *
+ * A failing task is logged and does not abort the remaining tasks; the test run
+ * requiring the resource will report the error. The warm-up is skipped if the system
+ * property {@value #ENABLED_PROPERTY} is set to <code>false</code>.
+ */
+public final class WarmUp {
+
+	/**
+	 * Name of the system property enabling the warm-up (default: <code>true</code>).
+	 */
+	public static final String ENABLED_PROPERTY = "de.latlon.ets.core.warmup.enabled";
+
+	private static final String SAMPLE_TEXT = "Warm-up sample text mentioning a Building, a Road and a River.";
+
+	/**
+	 * The states of a warm-up.
+	 */
+	public enum State {
+
+		/** No task was started yet. */
+		PENDING,
+
+		/** Tasks are executed. */
+		RUNNING,
+
+		/** All tasks succeeded. */
+		READY,
+
+		/** All tasks were executed, at least one failed. */
+		READY_WITH_FAILURES,
+
+		/** The warm-up is disabled. */
+		DISABLED
+
+	}
+
+	private final List<Task> tasks = new ArrayList<>();
+
+	private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+
+	private final AtomicInteger failures = new AtomicInteger();
+
+	private final CountDownLatch finished = new CountDownLatch(1);
+
+	private volatile long durationMillis = -1;
+
+	WarmUp() {
+		task("error messages", () -> {
+			for (ErrorMessageKey msgKey : ErrorMessageKey.values()) {
+				ErrorMessage.get(msgKey);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Registers an XML schema to be compiled.
+	 * @param schemaLocations the locations of the schema documents, never
+	 * <code>null</code>
+	 * @return this warm-up
+	 */
+	public WarmUp schema(URL... schemaLocations) {
+		return task("schema " + Arrays.toString(schemaLocations), () -> SchemaRegistry.getSchema(schemaLocations));
+	}
+
+	/**
+	 * Registers a Schematron schema to be compiled.
+	 * @param schemaRef the location of the Schematron schema, never <code>null</code>
+	 * @param phase the phase to check, never <code>null</code>
+	 * @return this warm-up
+	 */
+	public WarmUp schematron(URL schemaRef, String phase) {
+		return task("Schematron " + schemaRef + " (phase " + phase + ")", () -> {
+			SchematronValidatorCache.preload(schemaRef, phase);
+			return null;
+		});
+	}
+
+	/**
+	 * Registers the default DFDD keyword register to be loaded. The keyword index and
+	 * the term scanner of the given mode are built and applied to a sample text.
+	 * @param mode the match mode used by the test suite, never <code>null</code>
+	 * @return this warm-up
+	 */
+	public WarmUp dfddKeywords(MatchMode mode) {
+		return task("DFDD keywords (" + mode + ")", () -> {
+			DfddKeywordRegister register = DfddKeywordRegister.getDefault();
+			register.lookup("Building", mode);
+			return register.getScanner(mode).scan(SAMPLE_TEXT);
+		});
+	}
+
+	/**
+	 * Registers XPath 2.0 expressions to be compiled.
+	 * @param nsBindings the namespace bindings used by the expressions (namespace name
+	 * to prefix), never <code>null</code>
+	 * @param expressions the expressions, never <code>null</code>
+	 * @return this warm-up
+	 */
+	public WarmUp xpath2(Map<String, String> nsBindings, String... expressions) {
+		return task("XPath 2.0 expressions " + Arrays.toString(expressions), () -> {
+			for (String expression : expressions) {
+				XPath2ExecutableCache.compile(expression, nsBindings);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Registers a suite-specific task, e.g. to parse a sample document.
+	 * @param name the name of the task used in log messages, never <code>null</code>
+	 * @param task the task, never <code>null</code>
+	 * @return this warm-up
+	 * @throws IllegalStateException if the warm-up was already started
+	 */
+	public synchronized WarmUp task(String name, Callable<?> task) {
+		if (state.get() != State.PENDING) {
+			throw new IllegalStateException("Warm-up was already started.");
+		}
+		tasks.add(new Task(name, task));
+		return this;
+	}
+
+	/**
+	 * @return the current state, never <code>null</code>
+	 */
+	public State getState() {
+		return state.get();
+	}
+
+	/**
+	 * @return <code>true</code> if all tasks were executed (successfully or not) or the
+	 * warm-up is disabled, <code>false</code> otherwise
+	 */
+	public boolean isFinished() {
+		return finished.getCount() == 0;
+	}
+
+	/**
+	 * @return the duration of the warm-up in milliseconds, -1 if it is not finished
+	 */
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	/**
+	 * @return the number of failed tasks
+	 */
+	public int getFailureCount() {
+		return failures.get();
+	}
+
+	/**
+	 * Waits until the warm-up is finished.
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout, never <code>null</code>
+	 * @return <code>true</code> if the warm-up is finished, <code>false</code> if the
+	 * timeout elapsed
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit);
+	}
+
+	/**
+	 * Starts the registered tasks in a daemon thread. Subsequent invocations have no
+	 * effect.
+	 * @param name the name of the test suite used in log messages
+	 */
+	synchronized void start(String name) {
+		if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+			if (state.compareAndSet(State.PENDING, State.DISABLED)) {
+				finished.countDown();
+			}
+			return;
+		}
+		if (!state.compareAndSet(State.PENDING, State.RUNNING)) {
+			return;
+		}
+		List<Task> registered = new ArrayList<>(tasks);
+		Thread thread = new Thread(() -> run(name, registered), "warm-up");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	private void run(String name, List<Task> registered) {
+		long start = System.currentTimeMillis();
+		try {
+			for (Task task : registered) {
+				long taskStart = System.currentTimeMillis();
+				try {
+					task.callable.call();
+					TestSuiteLogger.log(Level.FINE, () -> "Warmed up " + task.name + " in "
+							+ (System.currentTimeMillis() - taskStart) + " ms");
+				}
+				catch (Exception | LinkageError e) {
+					failures.incrementAndGet();
+					TestSuiteLogger.log(Level.WARNING, "Warm-up of " + task.name + " failed: " + e.getMessage());
+				}
+			}
+		}
+		finally {
+			durationMillis = System.currentTimeMillis() - start;
+			state.set(failures.get() == 0 ? State.READY : State.READY_WITH_FAILURES);
+			finished.countDown();
+			TestSuiteLogger.log(Level.INFO, "Warm-up of " + name + " finished in " + durationMillis + " ms ("
+					+ registered.size() + " task(s), " + failures.get() + " failed)");
+		}
+	}
+
+	private static final class Task {
+
+		private final String name;
+
+		private final Callable<?> callable;
+
+		private Task(String name, Callable<?> callable) {
+			this.name = name;
+			this.callable = callable;
+		}
+
+	}
+
+}
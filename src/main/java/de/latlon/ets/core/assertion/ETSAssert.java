@@ -2,29 +2,39 @@ package de.latlon.ets.core.assertion;
 
 import static org.testng.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.xml.namespace.QName;
-import javax.xml.transform.Result;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.Validator;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-import javax.xml.xpath.XPathFactoryConfigurationException;
 
-import org.glassfish.jersey.client.ClientConfig;
-import org.opengis.cite.validation.SchematronValidator;
-import org.opengis.cite.validation.ValidationErrorHandler;
 import org.testng.Assert;
 import org.testng.SkipException;
 import org.w3c.dom.Document;
@@ -33,20 +43,52 @@ import org.w3c.dom.NodeList;
 
 import de.latlon.ets.core.error.ErrorMessage;
 import de.latlon.ets.core.error.ErrorMessageKey;
+import de.latlon.ets.core.error.FailureReport;
+import de.latlon.ets.core.util.HttpClientProvider;
 import de.latlon.ets.core.util.NamespaceBindings;
 import de.latlon.ets.core.util.XMLUtils;
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.Invocation.Builder;
-import jakarta.ws.rs.client.WebTarget;
+import de.latlon.ets.core.util.XPath2ExecutableCache;
+import de.latlon.ets.core.util.XPathExpressionCache;
+import de.latlon.ets.core.util.XdmDocument;
+import de.latlon.ets.core.validation.ErrorLimitHandler;
+import de.latlon.ets.core.validation.SchemaRegistry;
+import de.latlon.ets.core.validation.SchematronResult;
+import de.latlon.ets.core.validation.SchematronValidatorCache;
+import de.latlon.ets.core.validation.SvrlListener;
+import de.latlon.ets.core.validation.ValidatorPool;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import net.sf.saxon.s9api.Axis;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XPathSelector;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmNodeKind;
+import net.sf.saxon.s9api.XdmSequenceIterator;
 
 /**
  * Provides a set of custom assertion methods.
  */
 public class ETSAssert {
 
+	/**
+	 * Name of the system property that enables logging of the complete context node of
+	 * XPath assertions at level FINE or lower. By default only a summary of the context
+	 * node is logged.
+	 */
+	public static final String TRACE_CONTEXT_PROPERTY = "de.latlon.ets.core.assertion.traceContext";
+
+	/**
+	 * Name of the system property specifying the maximum number of markup characters of
+	 * the logged context node summary.
+	 */
+	public static final String CONTEXT_SUMMARY_LENGTH_PROPERTY = "de.latlon.ets.core.assertion.contextSummaryLength";
+
+	/**
+	 * Name of the system property specifying the maximum number of concurrent checks of
+	 * {@link #assertUrisAreResolvable(Collection, boolean)}.
+	 */
+	public static final String RESOLVER_THREADS_PROPERTY = "de.latlon.ets.core.assertion.resolverThreads";
+
 	private final static Logger LOGR = Logger.getLogger(ETSAssert.class.getName());
 
 	private ETSAssert() {
@@ -78,6 +120,84 @@ public class ETSAssert {
 		Assert.assertTrue(result, ErrorMessage.format(ErrorMessageKey.XPATH_RESULT, context.getNodeName(), expr));
 	}
 
+	/**
+	 * Asserts that all of the given XPath 1.0 expressions hold true for the given
+	 * evaluation context. In contrast to
+	 * {@link #assertXPath(String, Node, NamespaceBindings)} all expressions are evaluated
+	 * and all failures are reported in a single AssertionError.
+	 *
+	 * The method arguments will be logged at level FINE or lower.
+	 * @param context The context node, never <code>null</code>.
+	 * @param nsBindings A collection of namespace bindings for the XPath expressions,
+	 * where each entry maps a namespace URI (key) to a prefix (value). Never
+	 * {@code null}.
+	 * @param exprs A collection of valid XPath 1.0 expressions, never <code>null</code>.
+	 */
+	public static void assertXPaths(Node context, NamespaceBindings nsBindings, Collection<String> exprs) {
+		if (null == context) {
+			throw new NullPointerException("Context node is null.");
+		}
+		Set<String> distinctExprs = new LinkedHashSet<>(exprs);
+		LOGR.log(Level.FINE, () -> String.format("Evaluating %d expressions against context node:%n%s",
+				distinctExprs.size(), describeContext(context)));
+		Map<String, XPathExpression> compiled = new LinkedHashMap<>();
+		List<String> failures = new ArrayList<>();
+		for (String expr : distinctExprs) {
+			try {
+				compiled.put(expr, XPathExpressionCache.compile(expr, nsBindings));
+			}
+			catch (XPathExpressionException xpe) {
+				String msg = ErrorMessage.format(ErrorMessageKey.XPATH_ERROR, expr);
+				LOGR.log(Level.WARNING, msg, xpe);
+				failures.add(msg);
+			}
+		}
+		for (Map.Entry<String, XPathExpression> expr : compiled.entrySet()) {
+			try {
+				Boolean result = (Boolean) expr.getValue().evaluate(context, XPathConstants.BOOLEAN);
+				if (!result)
+					failures.add(expr.getKey());
+			}
+			catch (XPathExpressionException xpe) {
+				String msg = ErrorMessage.format(ErrorMessageKey.XPATH_ERROR, expr.getKey());
+				LOGR.log(Level.WARNING, msg, xpe);
+				failures.add(msg);
+			}
+		}
+		LOGR.log(Level.FINE, "{0} of {1} XPath expressions failed",
+				new Object[] { failures.size(), distinctExprs.size() });
+		if (!failures.isEmpty()) {
+			throw new AssertionError(ErrorMessage.format(ErrorMessageKey.XPATH_RESULTS, failures.size(),
+					distinctExprs.size(), context.getNodeName(), String.join("\n", failures)));
+		}
+	}
+
+	/**
+	 * Asserts that the effective boolean value of an XPath 2.0 expression is true for
+	 * the given parsed document.
+	 * @param expr A valid XPath 2.0 expression.
+	 * @param document The parsed document, never <code>null</code>.
+	 * @param nsBindings A collection of namespace bindings for the XPath expression,
+	 * where each entry maps a namespace URI (key) to a prefix (value). May be
+	 * {@code null}.
+	 */
+	public static void assertXPath2(String expr, XdmDocument document, Map<String, String> nsBindings) {
+		boolean result;
+		try {
+			XPathSelector xpath = XPath2ExecutableCache.compile(expr, nsBindings).load();
+			xpath.setContextItem(document.getNode());
+			result = xpath.effectiveBooleanValue();
+		}
+		catch (SaxonApiException e) {
+			String msg = ErrorMessage.format(ErrorMessageKey.XPATH_ERROR, expr);
+			LOGR.log(Level.WARNING, msg, e);
+			throw new AssertionError(msg);
+		}
+		LOGR.log(Level.FINE, "XPath 2.0 result of \"{0}\": {1}", new Object[] { expr, result });
+		Assert.assertTrue(result,
+				ErrorMessage.format(ErrorMessageKey.XPATH_RESULT, describeDocument(document.getNode()), expr));
+	}
+
 	/**
 	 * Verify that an XPath 1.0 expression holds true for the given evaluation
 	 * context.Throws an {@link SkipException} if the xpath results in <code>false</code>.
@@ -98,13 +218,65 @@ public class ETSAssert {
 	}
 
 	/**
-	 * Asserts that an XML resource is schema-valid.
+	 * Asserts that an XML resource is schema-valid. If the schema was obtained from the
+	 * {@link SchemaRegistry} a pooled validator is used.
 	 * @param schema to validate against, never <code>null</code>.
 	 * @param document to validate, never <code>null</code>
 	 */
 	public static void assertSchemaValid(Schema schema, Document document) {
-		Validator validator = schema.newValidator();
-		assertSchemaValid(validator, new DOMSource(document, document.getDocumentURI()));
+		assertSchemaValid(schema, new DOMSource(document, document.getDocumentURI()), 0);
+	}
+
+	/**
+	 * Asserts that an XML resource is schema-valid. The resource is validated while it is
+	 * read, no DOM is built.
+	 * @param schema to validate against, never <code>null</code>.
+	 * @param xmlStream to validate, never <code>null</code>. The stream is not closed.
+	 */
+	public static void assertSchemaValid(Schema schema, InputStream xmlStream) {
+		assertSchemaValid(schema, new StreamSource(xmlStream), 0);
+	}
+
+	/**
+	 * Asserts that an XML file is schema-valid. The file is validated while it is read,
+	 * no DOM is built.
+	 * @param schema to validate against, never <code>null</code>.
+	 * @param xmlFile to validate, never <code>null</code>.
+	 */
+	public static void assertSchemaValid(Schema schema, Path xmlFile) {
+		assertSchemaValid(schema, new StreamSource(xmlFile.toFile()), 0);
+	}
+
+	/**
+	 * Asserts that an XML resource is schema-valid. The resource is validated while it is
+	 * read, no DOM is built.
+	 * @param schema to validate against, never <code>null</code>.
+	 * @param xmlUri the absolute URI of the resource to validate, never
+	 * <code>null</code>.
+	 */
+	public static void assertSchemaValid(Schema schema, URI xmlUri) {
+		assertSchemaValid(schema, new StreamSource(xmlUri.toString()), 0);
+	}
+
+	/**
+	 * Asserts that an XML resource is schema-valid. If the schema was obtained from the
+	 * {@link SchemaRegistry} a pooled validator is used.
+	 * @param schema to validate against, never <code>null</code>.
+	 * @param source The XML Source to be validated; a StreamSource or StAXSource is
+	 * validated without building a DOM.
+	 * @param maxErrors the number of errors after which the validation is aborted, 0 or
+	 * less means unlimited
+	 */
+	public static void assertSchemaValid(Schema schema, Source source, int maxErrors) {
+		ValidatorPool pool = SchemaRegistry.getValidatorPool(schema);
+		Validator validator = (null != pool) ? pool.borrow() : schema.newValidator();
+		try {
+			assertSchemaValid(validator, source, maxErrors);
+		}
+		finally {
+			if (null != pool)
+				pool.release(validator);
+		}
 	}
 
 	/**
@@ -113,39 +285,84 @@ public class ETSAssert {
 	 * @param source The XML Source to be validated.
 	 */
 	public static void assertSchemaValid(Validator validator, Source source) {
-		ValidationErrorHandler errHandler = new ValidationErrorHandler();
-		validator.setErrorHandler(errHandler);
+		assertSchemaValid(validator, source, 0);
+	}
+
+	/**
+	 * Asserts that an XML resource is schema-valid.
+	 * @param validator The Validator to use.
+	 * @param source The XML Source to be validated.
+	 * @param maxErrors the number of errors after which the validation is aborted, 0 or
+	 * less means unlimited
+	 */
+	public static void assertSchemaValid(Validator validator, Source source, int maxErrors) {
+		FailureReport report = FailureReport.create("schema-validation");
+		ErrorLimitHandler limitHandler = new ErrorLimitHandler(report, maxErrors);
+		validator.setErrorHandler(limitHandler);
 		try {
 			validator.validate(source);
 		}
 		catch (Exception e) {
-			throw new AssertionError(ErrorMessage.format(ErrorMessageKey.XML_ERROR, e.getMessage()));
+			if (!limitHandler.isLimitReached()) {
+				report.close();
+				throw new AssertionError(ErrorMessage.format(ErrorMessageKey.XML_ERROR, e.getMessage()));
+			}
 		}
-		Assert.assertFalse(errHandler.errorsDetected(), ErrorMessage.format(ErrorMessageKey.NOT_SCHEMA_VALID,
-				errHandler.getErrorCount(), errHandler.toString()));
+		String errors = report.toString();
+		if (limitHandler.isLimitReached()) {
+			errors += ErrorMessage.format(ErrorMessageKey.VALIDATION_ABORTED, maxErrors);
+		}
+		Assert.assertTrue(limitHandler.getErrorCount() == 0,
+				ErrorMessage.format(ErrorMessageKey.NOT_SCHEMA_VALID, limitHandler.getErrorCount(), errors));
 	}
 
 	/**
 	 * Asserts that an XML resource satisfies all applicable constraints specified in a
 	 * Schematron (ISO 19757-3) schema. The "xslt2" query language binding is supported.
-	 * All patterns are checked.
+	 * All patterns are checked. The compiled schema is cached by the
+	 * {@link SchematronValidatorCache}.
 	 * @param schemaRef A URL that denotes the location of a Schematron schema.
 	 * @param xmlSource The XML Source to be validated.
 	 */
 	public static void assertSchematronValid(URL schemaRef, Source xmlSource) {
-		SchematronValidator validator;
+		assertSchematronValid(schemaRef, xmlSource, 0);
+	}
+
+	/**
+	 * Asserts that an XML resource satisfies all applicable constraints specified in a
+	 * Schematron (ISO 19757-3) schema. The failed asserts and successful reports are read
+	 * from the validation report one at a time and included in the failure message; no
+	 * further entries are included after the given number of failed asserts.
+	 * @param schemaRef A URL that denotes the location of a Schematron schema.
+	 * @param xmlSource The XML Source to be validated.
+	 * @param maxViolations the number of failed asserts after which no further entries
+	 * are reported (the document is still validated completely), 0 or less means
+	 * unlimited
+	 */
+	public static void assertSchematronValid(URL schemaRef, Source xmlSource, int maxViolations) {
+		FailureReport report = FailureReport.create("schematron-validation");
+		SvrlListener listener = assertion -> report.addEntry(assertion.toString());
+		SchematronResult result;
 		try {
-			validator = new SchematronValidator(new StreamSource(schemaRef.toString()), "#ALL");
+			result = SchematronValidatorCache.validate(schemaRef, SchematronValidatorCache.ALL_PHASES, xmlSource,
+					listener, maxViolations);
 		}
 		catch (Exception e) {
+			report.close();
 			StringBuilder msg = new StringBuilder("Failed to process Schematron schema at ");
 			msg.append(schemaRef).append('\n');
 			msg.append(e.getMessage());
 			throw new AssertionError(msg);
 		}
-		Result result = validator.validate(xmlSource);
-		Assert.assertFalse(validator.ruleViolationsDetected(), ErrorMessage.format(ErrorMessageKey.NOT_SCHEMA_VALID,
-				validator.getRuleViolationCount(), XMLUtils.resultToString(result)));
+		if (result.ruleViolationsDetected()) {
+			if (maxViolations > 0) {
+				// the failed asserts beyond the maximum were counted but not passed
+				report.addOmittedEntries(Math.max(0, result.getFailedAssertCount() - maxViolations));
+			}
+			throw new AssertionError(ErrorMessage.format(ErrorMessageKey.NOT_SCHEMA_VALID,
+					result.getRuleViolationCount(), report.toString()));
+		}
+		report.close();
 	}
 
 	/**
@@ -161,6 +378,43 @@ public class ETSAssert {
 				String.format("Unexpected number of %s descendant elements.", elementName));
 	}
 
+	/**
+	 * Asserts that the given XML entity contains the expected number of descendant
+	 * elements having the specified name. A StreamSource or StAXSource is read in
+	 * constant memory without building a DOM; reading stops as soon as more elements than
+	 * expected were found.
+	 * @param xmlSource The XML Source, never <code>null</code>.
+	 * @param elementName The qualified name of the element.
+	 * @param expectedCount The expected number of occurrences.
+	 */
+	public static void assertDescendantElementCount(Source xmlSource, QName elementName, int expectedCount) {
+		int count;
+		try {
+			count = XMLUtils.countElements(xmlSource, elementName, expectedCount);
+		}
+		catch (XMLStreamException e) {
+			throw new AssertionError(ErrorMessage.format(ErrorMessageKey.XML_ERROR, e.getMessage()));
+		}
+		if (count > expectedCount) {
+			Assert.fail(String.format("Unexpected number of %s descendant elements: more than %d.", elementName,
+					expectedCount));
+		}
+		Assert.assertEquals(count, expectedCount,
+				String.format("Unexpected number of %s descendant elements.", elementName));
+	}
+
+	/**
+	 * Asserts that the given XML entity contains the expected number of descendant
+	 * elements having the specified name. The stream is read in constant memory without
+	 * building a DOM; reading stops as soon as more elements than expected were found.
+	 * @param xmlStream The XML entity, never <code>null</code>. The stream is not closed.
+	 * @param elementName The qualified name of the element.
+	 * @param expectedCount The expected number of occurrences.
+	 */
+	public static void assertDescendantElementCount(InputStream xmlStream, QName elementName, int expectedCount) {
+		assertDescendantElementCount(new StreamSource(xmlStream), elementName, expectedCount);
+	}
+
 	/**
 	 * Asserts that the actual HTTP status code matches one of the expected status codes.
 	 * @param actualCode The actual status code.
@@ -206,23 +460,89 @@ public class ETSAssert {
 	 * @param url The url to check.
 	 */
 	public static void assertUriIsResolvable(String url) {
+		int status;
 		try {
-			Client client = ClientBuilder.newClient(new ClientConfig());
-			WebTarget target = client.target(url);
-			Builder builder = target.request();
-			Response rsp = builder.buildGet().invoke();
-			assertStatusCode(rsp.getStatus(), 200);
+			status = HttpClientProvider.get(URI.create(url), Response::getStatus);
 		}
-		catch (NullPointerException e) {
+		catch (NullPointerException | IllegalArgumentException e) {
 			String errorMsg = String.format("Invalid URI %s: %s", url, e.getMessage());
 			throw new AssertionError(errorMsg);
 		}
+		catch (IOException e) {
+			String errorMsg = String.format("URI %s is not resolvable: %s", url, e.getMessage());
+			throw new AssertionError(errorMsg);
+		}
+		assertStatusCode(status, 200);
+	}
+
+	/**
+	 * Asserts that all urls are resolvable (status code is 200). The urls are checked
+	 * concurrently, duplicates are checked once. A HEAD request is sent first, a GET
+	 * request is sent if the HEAD request does not result in status code 200.
+	 *
+	 * The number of concurrent checks can be set using the system property
+	 * {@value #RESOLVER_THREADS_PROPERTY} (default: 16).
+	 * @param urls The urls to check, never <code>null</code>.
+	 */
+	public static void assertUrisAreResolvable(Collection<String> urls) {
+		assertUrisAreResolvable(urls, true);
+	}
+
+	/**
+	 * Asserts that all urls are resolvable (status code is 200). The urls are checked
+	 * concurrently, duplicates are checked once. All failures are reported in a single
+	 * AssertionError.
+	 *
+	 * The number of concurrent checks can be set using the system property
+	 * {@value #RESOLVER_THREADS_PROPERTY} (default: 16).
+	 * @param urls The urls to check, never <code>null</code>.
+	 * @param tryHead <code>true</code> if a HEAD request should be sent first,
+	 * <code>false</code> if only GET requests should be sent
+	 */
+	public static void assertUrisAreResolvable(Collection<String> urls, boolean tryHead) {
+		Set<String> distinctUrls = new LinkedHashSet<>(urls);
+		if (distinctUrls.isEmpty())
+			return;
+		int threads = Math.min(distinctUrls.size(), Integer.getInteger(RESOLVER_THREADS_PROPERTY, 16));
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "uri-resolver");
+			thread.setDaemon(true);
+			return thread;
+		});
+		List<String> failures = new ArrayList<>();
+		try {
+			Map<String, Future<String>> checks = new LinkedHashMap<>();
+			for (String url : distinctUrls) {
+				checks.put(url, executor.submit(() -> checkResolvable(url, tryHead)));
+			}
+			for (Map.Entry<String, Future<String>> check : checks.entrySet()) {
+				String failure = check.getValue().get();
+				if (null != failure)
+					failures.add(failure);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AssertionError("Interrupted while checking URIs.");
+		}
+		catch (ExecutionException e) {
+			throw new AssertionError("Failed to check URIs: " + e.getCause().getMessage());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		if (!failures.isEmpty()) {
+			throw new AssertionError(String.format("%d of %d URI(s) are not resolvable:%n%s", failures.size(),
+					distinctUrls.size(), String.join("\n", failures)));
+		}
 	}
 
 	/**
 	 * Checks whether an XPath 1.0 expression holds true for the given evaluation context.
 	 *
-	 * The method arguments will be logged at level FINE or lower.
+	 * The method arguments will be logged at level FINE or lower. Only a summary of the
+	 * context node is logged unless the system property {@value #TRACE_CONTEXT_PROPERTY}
+	 * is set to <code>true</code>.
 	 * @param expr A valid XPath 1.0 expression.
 	 * @param context The context node.
 	 * @param nsBindings A collection of namespace bindings for the XPath expression,
@@ -235,25 +555,68 @@ public class ETSAssert {
 		if (null == context) {
 			throw new NullPointerException("Context node is null.");
 		}
-		LOGR.log(Level.FINE, "Evaluating \"{0}\" against context node:\n{1}",
-				new Object[] { expr, XMLUtils.writeNodeToString(context) });
-		XPathFactory factory = createFactory();
-		XPath xpath = factory.newXPath();
-		LOGR.log(Level.FINE, "Using XPath implementation: " + xpath.getClass().getName());
-		xpath.setNamespaceContext(nsBindings);
+		LOGR.log(Level.FINE, () -> String.format("Evaluating \"%s\" against context node:%n%s", expr,
+				describeContext(context)));
 		Boolean result;
 		try {
-			result = (Boolean) xpath.evaluate(expr, context, XPathConstants.BOOLEAN);
+			XPathExpression xpath = XPathExpressionCache.compile(expr, nsBindings);
+			LOGR.log(Level.FINE, () -> "Using XPath implementation: " + xpath.getClass().getName());
+			result = (Boolean) xpath.evaluate(context, XPathConstants.BOOLEAN);
 		}
 		catch (XPathExpressionException xpe) {
 			String msg = ErrorMessage.format(ErrorMessageKey.XPATH_ERROR, expr);
 			LOGR.log(Level.WARNING, msg, xpe);
 			throw new AssertionError(msg);
 		}
-		LOGR.log(Level.FINE, "XPath result: " + result);
+		LOGR.log(Level.FINE, "XPath result: {0}", result);
 		return result;
 	}
 
+	private static String describeContext(Node context) {
+		if (Boolean.getBoolean(TRACE_CONTEXT_PROPERTY)) {
+			return XMLUtils.writeNodeToString(context);
+		}
+		return XMLUtils.writeNodeSummary(context, Integer.getInteger(CONTEXT_SUMMARY_LENGTH_PROPERTY, 256));
+	}
+
+	/**
+	 * @return the document URI or, if it is unknown, the name of the document element
+	 */
+	private static String describeDocument(XdmNode document) {
+		URI documentURI = document.getDocumentURI();
+		if (null != documentURI) {
+			return documentURI.toString();
+		}
+		XdmSequenceIterator children = document.axisIterator(Axis.CHILD);
+		while (children.hasNext()) {
+			XdmNode child = (XdmNode) children.next();
+			if (child.getNodeKind() == XdmNodeKind.ELEMENT) {
+				return child.getNodeName().toString();
+			}
+		}
+		return document.getNodeKind().toString();
+	}
+
+	private static String checkResolvable(String url, boolean tryHead) {
+		try {
+			URI uri = URI.create(url);
+			int status = 0;
+			if (tryHead) {
+				status = HttpClientProvider.execute(uri, "HEAD", Collections.emptyMap(), Response::getStatus);
+			}
+			if (status != 200) {
+				status = HttpClientProvider.get(uri, Response::getStatus);
+			}
+			return (status == 200) ? null : String.format("%s (status code %d)", url, status);
+		}
+		catch (NullPointerException | IllegalArgumentException e) {
+			return String.format("%s (invalid URI: %s)", url, e.getMessage());
+		}
+		catch (IOException e) {
+			return String.format("%s (%s)", url, e.getMessage());
+		}
+	}
+
 	private static boolean containsContentType(List<Object> contentTypes, String expectedContentType) {
 		if (contentTypes != null)
 			for (Object contentType : contentTypes) {
@@ -276,14 +639,4 @@ public class ETSAssert {
 		return sb.toString();
 	}
 
-	private static XPathFactory createFactory() {
-		try {
-			return XPathFactory.newInstance(XPathConstants.DOM_OBJECT_MODEL);
-		}
-		catch (XPathFactoryConfigurationException e) {
-			// An implementation for the W3C DOM is always available
-			throw new RuntimeException(e);
-		}
-	}
-
 }
\ No newline at end of file
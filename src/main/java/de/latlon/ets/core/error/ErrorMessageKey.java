@@ -20,8 +20,18 @@ public enum ErrorMessageKey {
 
 	XPATH_RESULT("XPathResult"),
 
+	XPATH_RESULTS("XPathResults"),
+
 	NOT_SCHEMA_VALID("NotSchemaValid"),
 
+	VALIDATION_ABORTED("ValidationAborted"),
+
+	REPORT_ENTRIES_OMITTED("ReportEntriesOmitted"),
+
+	REPORT_TRUNCATED("ReportTruncated"),
+
+	REPORT_LOCATION("ReportLocation"),
+
 	XML_ERROR("XMLError");
 
 	private final String errorMessageKey;
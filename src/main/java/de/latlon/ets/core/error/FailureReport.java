@@ -0,0 +1,217 @@
+package de.latlon.ets.core.error;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+
+import de.latlon.ets.core.util.BoundedWriter;
+import de.latlon.ets.core.util.TestSuiteLogger;
+
+/**
+ * Collects the details of a failed assertion, e.g. validation errors, and produces a
+ * message of limited size. At most {@value #DEFAULT_MAX_ENTRIES} entries and
+ * {@value #DEFAULT_MAX_LENGTH} characters are kept, the number of omitted entries and
+ * characters is appended to the message. If a spill directory is configured, the
+ * complete report is written to a file in this directory which is referenced by the
+ * message.
+ *
+ * The limits can be set by the following system properties:
+ * <ul>
+ * <li>{@value #MAX_LENGTH_PROPERTY}: maximum number of characters (default:
+ * {@value #DEFAULT_MAX_LENGTH})</li>
+ * <li>{@value #MAX_ENTRIES_PROPERTY}: maximum number of entries (default:
+ * {@value #DEFAULT_MAX_ENTRIES})</li>
+ * <li>{@value #SPILL_DIR_PROPERTY}: directory for complete reports (default: none)</li>
+ * </ul>
+ */
+public final class FailureReport implements Closeable {
+
+	/**
+	 * Name of the system property specifying the maximum number of characters of a
+	 * failure message.
+	 */
+	public static final String MAX_LENGTH_PROPERTY = "de.latlon.ets.core.report.maxLength";
+
+	/**
+	 * Name of the system property specifying the maximum number of entries of a failure
+	 * message.
+	 */
+	public static final String MAX_ENTRIES_PROPERTY = "de.latlon.ets.core.report.maxEntries";
+
+	/**
+	 * Name of the system property specifying the directory complete reports are written
+	 * to.
+	 */
+	public static final String SPILL_DIR_PROPERTY = "de.latlon.ets.core.report.spillDir";
+
+	static final int DEFAULT_MAX_LENGTH = 65536;
+
+	static final int DEFAULT_MAX_ENTRIES = 100;
+
+	private final BoundedWriter writer;
+
+	private final int maxEntries;
+
+	private final Path spillFile;
+
+	private final Writer spillWriter;
+
+	private int entryCount;
+
+	private int omittedCount;
+
+	private boolean closed;
+
+	/**
+	 * @param maxLength the maximum number of characters kept, must not be negative
+	 * @param maxEntries the maximum number of entries kept, 0 or less means unlimited
+	 * @param spillFile the file receiving the complete report, may be <code>null</code>
+	 * @throws IOException if the spill file cannot be created
+	 */
+	public FailureReport(int maxLength, int maxEntries, Path spillFile) throws IOException {
+		this.maxEntries = maxEntries;
+		this.spillFile = spillFile;
+		this.spillWriter = (null != spillFile) ? Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8) : null;
+		this.writer = new BoundedWriter(maxLength, spillWriter);
+	}
+
+	/**
+	 * Creates a report using the limits configured by the system properties. A spill file
+	 * is created only if {@value #SPILL_DIR_PROPERTY} is set; if this fails the report
+	 * is kept in memory only.
+	 * @param name a short name used as prefix of the spill file, never <code>null</code>
+	 * @return a new report, never <code>null</code>
+	 */
+	public static FailureReport create(String name) {
+		int maxLength = Integer.getInteger(MAX_LENGTH_PROPERTY, DEFAULT_MAX_LENGTH);
+		int maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES);
+		String spillDir = System.getProperty(SPILL_DIR_PROPERTY);
+		if (null != spillDir && !spillDir.isEmpty()) {
+			try {
+				Path dir = Files.createDirectories(Paths.get(spillDir));
+				return new FailureReport(maxLength, maxEntries, Files.createTempFile(dir, name + "-", ".txt"));
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not create report file in " + spillDir, e);
+			}
+		}
+		try {
+			return new FailureReport(maxLength, maxEntries, null);
+		}
+		catch (IOException e) {
+			// no file involved
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Adds an entry, e.g. a single validation error, followed by a line break. Entries
+	 * beyond the maximum number are only counted and written to the spill file.
+	 * @param entry the entry, never <code>null</code>
+	 */
+	public void addEntry(String entry) {
+		entryCount++;
+		try {
+			if (maxEntries <= 0 || entryCount <= maxEntries) {
+				writer.write(entry);
+				writer.write('\n');
+			}
+			else if (null != spillWriter) {
+				spillWriter.write(entry);
+				spillWriter.write('\n');
+			}
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not write to report file " + spillFile, e);
+		}
+	}
+
+	/**
+	 * Counts entries that were not added, e.g. violations that were not read from a
+	 * validation report. They are included in the number of omitted entries.
+	 * @param count the number of entries not added
+	 */
+	public void addOmittedEntries(int count) {
+		if (count > 0)
+			omittedCount += count;
+	}
+
+	/**
+	 * Returns a writer for unstructured content, e.g. a serialized XML report. Content
+	 * beyond the maximum length is discarded (but written to the spill file).
+	 * @return the writer, never <code>null</code>
+	 */
+	public Writer getWriter() {
+		return writer;
+	}
+
+	/**
+	 * @return the number of entries added
+	 */
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * @return the file holding the complete report, <code>null</code> if there is none
+	 */
+	public Path getSpillFile() {
+		return spillFile;
+	}
+
+	/**
+	 * Closes the spill file. The file is deleted if the report was not truncated since it
+	 * would not provide any additional content.
+	 */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		try {
+			writer.close();
+			if (null != spillFile && !isIncomplete()) {
+				Files.deleteIfExists(spillFile);
+			}
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not close report file " + spillFile, e);
+		}
+	}
+
+	/**
+	 * Closes the spill file and returns the bounded message.
+	 * @return the kept content followed by a summary of the omitted content, never
+	 * <code>null</code>
+	 */
+	@Override
+	public String toString() {
+		close();
+		StringBuilder msg = new StringBuilder(writer.toString());
+		if (msg.length() > 0 && msg.charAt(msg.length() - 1) != '\n' && writer.isTruncated()) {
+			msg.append('\n');
+		}
+		int omitted = omittedCount + ((maxEntries > 0) ? Math.max(0, entryCount - maxEntries) : 0);
+		if (omitted > 0) {
+			msg.append(ErrorMessage.format(ErrorMessageKey.REPORT_ENTRIES_OMITTED, omitted)).append('\n');
+		}
+		if (writer.isTruncated()) {
+			msg.append(ErrorMessage.format(ErrorMessageKey.REPORT_TRUNCATED, writer.getTruncatedLength()))
+				.append('\n');
+		}
+		if (null != spillFile && isIncomplete()) {
+			msg.append(ErrorMessage.format(ErrorMessageKey.REPORT_LOCATION, spillFile.toUri())).append('\n');
+		}
+		return msg.toString();
+	}
+
+	private boolean isIncomplete() {
+		return writer.isTruncated() || (maxEntries > 0 && entryCount > maxEntries);
+	}
+
+}
@@ -1,5 +1,8 @@
 package de.latlon.ets.core.keyword;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,7 +14,8 @@ public interface DfddKeywordMatcher {
 
 	/**
 	 * Checks if the passed list of keywords contains at least one keyword from DFDD
-	 * register. The check is case-sensitive!
+	 * register. The check is case-sensitive unless stated otherwise by the
+	 * implementation!
 	 * @param keywordsToCheck the keywords to check, may be empty but never
 	 * <code>null</code>
 	 * @return <code>true</code> if the passed list contains at least one keyword from
@@ -19,4 +23,35 @@ public interface DfddKeywordMatcher {
 	 */
 	boolean containsAtLeastOneDfddKeyword(List<String> keywordsToCheck);
 
+	/**
+	 * Returns the passed keywords which are keywords from DFDD register.
+	 * @param keywordsToCheck the keywords to check, may be empty but never
+	 * <code>null</code>
+	 * @return the matching keywords in the order passed, may be empty but never
+	 * <code>null</code>
+	 */
+	default List<String> findDfddKeywords(Collection<String> keywordsToCheck) {
+		List<String> matches = new ArrayList<>();
+		for (String keyword : keywordsToCheck) {
+			if (containsAtLeastOneDfddKeyword(Collections.singletonList(keyword)))
+				matches.add(keyword);
+		}
+		return matches;
+	}
+
+	/**
+	 * Finds the keywords from DFDD register occurring in the given text, e.g. an abstract
+	 * or title. The default implementation scans the text for the keywords of the
+	 * {@link DfddKeywordRegister#getDefault() default register} in
+	 * {@link MatchMode#EXACT exact} mode; implementations using another register or match
+	 * mode override it. The check is case-sensitive unless stated otherwise by the
+	 * implementation!
+	 * @param text the text to scan, may be <code>null</code>
+	 * @return the occurrences in the order of their end position, may be empty but never
+	 * <code>null</code>
+	 */
+	default List<DfddTermMatch> findDfddTerms(CharSequence text) {
+		return DfddKeywordRegister.getDefault().getScanner(MatchMode.EXACT).scan(text);
+	}
+
 }
@@ -1,62 +1,76 @@
 package de.latlon.ets.core.keyword;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.logging.Level;
-
-import de.latlon.ets.core.util.TestSuiteLogger;
 
 /**
- * Implementation of a {@link DfddKeywordMatcher} retrieving the keywords from a file.
+ * Implementation of a {@link DfddKeywordMatcher} retrieving the keywords from a file. The
+ * file is parsed once per JVM into a hashed {@link DfddKeywordRegister}; instances are
+ * thread-safe.
  *
  * @author <a href="mailto:goltz@lat-lon.de">Lyn Goltz</a>
  */
 public class DfddKeywordMatcherFromFile implements DfddKeywordMatcher {
 
-	private static final String KEYWORD_FILE = "dfdd.keywords";
+	private final MatchMode mode;
 
-	private List<String> dfddKeywords;
+	/**
+	 * Creates a matcher comparing keywords case-sensitive.
+	 */
+	public DfddKeywordMatcherFromFile() {
+		this(MatchMode.EXACT);
+	}
+
+	/**
+	 * @param mode the comparison to apply, never <code>null</code>
+	 */
+	public DfddKeywordMatcherFromFile(MatchMode mode) {
+		if (null == mode) {
+			throw new IllegalArgumentException("Match mode must not be null.");
+		}
+		this.mode = mode;
+	}
 
 	@Override
 	public boolean containsAtLeastOneDfddKeyword(List<String> keywordsToCheck) {
-		parseKeywords();
+		DfddKeywordRegister register = getRegister();
 		for (String keyword : keywordsToCheck) {
-			if (dfddKeywords.contains(keyword))
+			if (null != register.lookup(keyword, mode))
 				return true;
 		}
 		return false;
 	}
 
-	private void parseKeywords() {
-		if (dfddKeywords == null) {
-			InputStream resource = DfddKeywordMatcherFromFile.class.getResourceAsStream(KEYWORD_FILE);
-			dfddKeywords = parseKeywordsFromStream(resource);
+	@Override
+	public List<String> findDfddKeywords(Collection<String> keywordsToCheck) {
+		DfddKeywordRegister register = getRegister();
+		List<String> matches = new ArrayList<>();
+		for (String keyword : keywordsToCheck) {
+			if (null != register.lookup(keyword, mode))
+				matches.add(keyword);
 		}
+		return matches;
 	}
 
-	private List<String> parseKeywordsFromStream(InputStream resource) {
-		List<String> keywords = new ArrayList<String>();
-		if (resource != null) {
-			try (BufferedReader br = new BufferedReader(new InputStreamReader(resource, "UTF-8"))) {
-				String line;
-				while ((line = br.readLine()) != null) {
-					String keyword = line.trim();
-					if (!keyword.isEmpty())
-						keywords.add(keyword);
-				}
-			}
-			catch (IOException e) {
-				TestSuiteLogger.log(Level.WARNING, "Keywords file " + KEYWORD_FILE + " could not be parsed.", e);
-			}
-		}
-		else {
-			TestSuiteLogger.log(Level.WARNING, "Could not find keywords file '" + KEYWORD_FILE + "'.");
-		}
-		return keywords;
+	@Override
+	public List<DfddTermMatch> findDfddTerms(CharSequence text) {
+		return getRegister().getScanner(mode).scan(text);
+	}
+
+	/**
+	 * @return the comparison applied by this matcher, never <code>null</code>
+	 */
+	public MatchMode getMatchMode() {
+		return mode;
+	}
+
+	/**
+	 * @return the register to match against, never <code>null</code>; the register
+	 * shipped with this library by default
+	 */
+	protected DfddKeywordRegister getRegister() {
+		return DfddKeywordRegister.getDefault();
 	}
 
 }
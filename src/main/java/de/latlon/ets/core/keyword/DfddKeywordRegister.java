@@ -0,0 +1,157 @@
+package de.latlon.ets.core.keyword;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+
+import de.latlon.ets.core.util.TestSuiteLogger;
+
+/**
+ * The keywords of the DFDD register. An instance is immutable and can be shared by any
+ * number of threads; the keywords are hashed once for each {@link MatchMode}.
+ *
+ * The register shipped with this library ({@value #KEYWORD_FILE}) is parsed once per JVM
+ * on first access of {@link #getDefault()}.
+ */
+public final class DfddKeywordRegister {
+
+	static final String KEYWORD_FILE = "dfdd.keywords";
+
+	private final Set<String> keywords;
+
+	/** normalized keyword to keyword, per match mode */
+	private final Map<MatchMode, Map<String, String>> indexes = new EnumMap<>(MatchMode.class);
+
+	private final ConcurrentMap<MatchMode, DfddTermScanner> scanners = new ConcurrentHashMap<>();
+
+	private DfddKeywordRegister(Set<String> keywords) {
+		this.keywords = Collections.unmodifiableSet(keywords);
+		for (MatchMode mode : MatchMode.values()) {
+			Map<String, String> index = new HashMap<>(keywords.size() * 2);
+			for (String keyword : keywords) {
+				index.putIfAbsent(mode.normalize(keyword), keyword);
+			}
+			indexes.put(mode, index);
+		}
+	}
+
+	/**
+	 * @return the register shipped with this library, never <code>null</code>; empty if
+	 * it could not be read
+	 */
+	public static DfddKeywordRegister getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	/**
+	 * Parses a register containing one keyword per line. Empty lines are ignored.
+	 * @param reader the register, never <code>null</code>; it is not closed
+	 * @return the register, never <code>null</code>
+	 * @throws IOException if the register cannot be read
+	 */
+	public static DfddKeywordRegister parse(Reader reader) throws IOException {
+		Set<String> keywords = new LinkedHashSet<>();
+		BufferedReader br = new BufferedReader(reader);
+		String line;
+		while ((line = br.readLine()) != null) {
+			String keyword = line.trim();
+			if (!keyword.isEmpty())
+				keywords.add(keyword);
+		}
+		return new DfddKeywordRegister(keywords);
+	}
+
+	/**
+	 * Reads a register containing one keyword per line from a UTF-8 encoded file. The
+	 * file is memory-mapped and decoded in one step instead of being read line by line.
+	 * @param file the register file, never <code>null</code>
+	 * @return the register, never <code>null</code>
+	 * @throws IOException if the file cannot be read or is not UTF-8 encoded
+	 */
+	public static DfddKeywordRegister map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			CharBuffer content = StandardCharsets.UTF_8.newDecoder().decode(buffer);
+			Set<String> keywords = new LinkedHashSet<>();
+			int lineStart = 0;
+			for (int i = 0; i <= content.length(); i++) {
+				if (i == content.length() || content.charAt(i) == '\n' || content.charAt(i) == '\r') {
+					String keyword = content.subSequence(lineStart, i).toString().trim();
+					if (!keyword.isEmpty())
+						keywords.add(keyword);
+					lineStart = i + 1;
+				}
+			}
+			return new DfddKeywordRegister(keywords);
+		}
+	}
+
+	/**
+	 * @return all keywords in the order of the register, never <code>null</code>
+	 */
+	public Set<String> getKeywords() {
+		return keywords;
+	}
+
+	/**
+	 * Looks up the DFDD keyword matching the given keyword.
+	 * @param keyword the keyword to look up, may be <code>null</code>
+	 * @param mode the comparison to apply, never <code>null</code>
+	 * @return the DFDD keyword as written in the register, <code>null</code> if the
+	 * keyword does not match any DFDD keyword
+	 */
+	public String lookup(String keyword, MatchMode mode) {
+		if (null == keyword)
+			return null;
+		return indexes.get(mode).get(mode.normalize(keyword));
+	}
+
+	/**
+	 * Returns the scanner finding the keywords of this register in free text. The
+	 * scanner is built on first request only.
+	 * @param mode the comparison to apply, never <code>null</code>
+	 * @return the scanner, never <code>null</code>
+	 */
+	public DfddTermScanner getScanner(MatchMode mode) {
+		return scanners.computeIfAbsent(mode, m -> new DfddTermScanner(this, m));
+	}
+
+	private static DfddKeywordRegister loadDefault() {
+		InputStream resource = DfddKeywordRegister.class.getResourceAsStream(KEYWORD_FILE);
+		if (resource == null) {
+			TestSuiteLogger.log(Level.WARNING, "Could not find keywords file '" + KEYWORD_FILE + "'.");
+			return new DfddKeywordRegister(Collections.emptySet());
+		}
+		try (Reader reader = new InputStreamReader(resource, StandardCharsets.UTF_8)) {
+			return parse(reader);
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Keywords file " + KEYWORD_FILE + " could not be parsed.", e);
+			return new DfddKeywordRegister(Collections.emptySet());
+		}
+	}
+
+	private static final class DefaultHolder {
+
+		private static final DfddKeywordRegister INSTANCE = loadDefault();
+
+	}
+
+}
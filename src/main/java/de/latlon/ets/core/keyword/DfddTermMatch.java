@@ -0,0 +1,46 @@
+package de.latlon.ets.core.keyword;
+
+/**
+ * An occurrence of a DFDD term in a text.
+ */
+public final class DfddTermMatch {
+
+	private final String keyword;
+
+	private final int start;
+
+	private final int end;
+
+	DfddTermMatch(String keyword, int start, int end) {
+		this.keyword = keyword;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * @return the DFDD keyword as written in the register, never <code>null</code>
+	 */
+	public String getKeyword() {
+		return keyword;
+	}
+
+	/**
+	 * @return the index of the first character of the occurrence
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * @return the index after the last character of the occurrence
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	@Override
+	public String toString() {
+		return keyword + "[" + start + "," + end + ")";
+	}
+
+}
@@ -0,0 +1,201 @@
+package de.latlon.ets.core.keyword;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Finds the terms of the DFDD register in free text, e.g. abstracts and titles. All terms
+ * are compiled into a single Aho-Corasick automaton, so a text is scanned in one pass
+ * regardless of the number of terms. Only occurrences delimited by word boundaries (start
+ * or end of the text, or a character that is neither a letter nor a digit) are reported.
+ *
+ * Depending on the {@link MatchMode} the terms are compared case-sensitive
+ * ({@link MatchMode#EXACT}), ignoring case ({@link MatchMode#IGNORE_CASE}) or ignoring
+ * case and accepting the words of a camel case term separated by a space, hyphen or
+ * underscore, e.g. "administrative boundary" for "AdministrativeBoundary"
+ * ({@link MatchMode#NORMALIZED}).
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class DfddTermScanner {
+
+	private static final char[] WORD_SEPARATORS = { ' ', '-', '_' };
+
+	private final boolean ignoreCase;
+
+	/** per state: sorted transition labels */
+	private final char[][] labels;
+
+	/** per state: target states of the transitions */
+	private final int[][] targets;
+
+	private final int[] failure;
+
+	/** per state: index of the keyword ending in this state, -1 if none */
+	private final int[] keywordIndex;
+
+	/** per state: length of the term ending in this state */
+	private final int[] termLength;
+
+	/** per state: next state on the failure path ending a term, -1 if none */
+	private final int[] outputLink;
+
+	private final String[] keywords;
+
+	/**
+	 * @param register the register providing the terms, never <code>null</code>
+	 * @param mode the comparison to apply, never <code>null</code>
+	 */
+	public DfddTermScanner(DfddKeywordRegister register, MatchMode mode) {
+		this.ignoreCase = mode != MatchMode.EXACT;
+		this.keywords = register.getKeywords().toArray(new String[0]);
+
+		List<Map<Character, Integer>> trie = new ArrayList<>();
+		List<Integer> ends = new ArrayList<>();
+		List<Integer> lengths = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		ends.add(-1);
+		lengths.add(0);
+		for (int i = 0; i < keywords.length; i++) {
+			for (String term : terms(keywords[i], mode)) {
+				int state = 0;
+				for (int c = 0; c < term.length(); c++) {
+					char label = fold(term.charAt(c));
+					Integer next = trie.get(state).get(label);
+					if (null == next) {
+						next = trie.size();
+						trie.add(new TreeMap<>());
+						ends.add(-1);
+						lengths.add(c + 1);
+						trie.get(state).put(label, next);
+					}
+					state = next;
+				}
+				if (ends.get(state) < 0)
+					ends.set(state, i);
+			}
+		}
+
+		int size = trie.size();
+		labels = new char[size][];
+		targets = new int[size][];
+		keywordIndex = new int[size];
+		termLength = new int[size];
+		for (int state = 0; state < size; state++) {
+			Map<Character, Integer> transitions = trie.get(state);
+			labels[state] = new char[transitions.size()];
+			targets[state] = new int[transitions.size()];
+			int t = 0;
+			for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+				labels[state][t] = transition.getKey();
+				targets[state][t++] = transition.getValue();
+			}
+			keywordIndex[state] = ends.get(state);
+			termLength[state] = lengths.get(state);
+		}
+
+		failure = new int[size];
+		outputLink = new int[size];
+		Arrays.fill(outputLink, -1);
+		Deque<Integer> queue = new ArrayDeque<>();
+		for (int target : targets[0]) {
+			queue.add(target);
+		}
+		while (!queue.isEmpty()) {
+			int state = queue.poll();
+			for (int t = 0; t < labels[state].length; t++) {
+				int target = targets[state][t];
+				int fallback = failure[state];
+				int next;
+				while ((next = transition(fallback, labels[state][t])) < 0 && fallback != 0) {
+					fallback = failure[fallback];
+				}
+				failure[target] = (next >= 0 && next != target) ? next : 0;
+				int f = failure[target];
+				outputLink[target] = (keywordIndex[f] >= 0) ? f : outputLink[f];
+				queue.add(target);
+			}
+		}
+	}
+
+	/**
+	 * @param text the text to scan, may be <code>null</code>
+	 * @return all occurrences of DFDD terms in the order of their end position, may be
+	 * empty but never <code>null</code>
+	 */
+	public List<DfddTermMatch> scan(CharSequence text) {
+		if (null == text)
+			return Collections.emptyList();
+		List<DfddTermMatch> matches = new ArrayList<>();
+		int state = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = fold(text.charAt(i));
+			int next;
+			while ((next = transition(state, c)) < 0 && state != 0) {
+				state = failure[state];
+			}
+			state = (next >= 0) ? next : 0;
+			int end = i + 1;
+			for (int out = (keywordIndex[state] >= 0) ? state : outputLink[state]; out >= 0; out = outputLink[out]) {
+				int start = end - termLength[out];
+				if (isBoundary(text, start - 1) && isBoundary(text, end)) {
+					matches.add(new DfddTermMatch(keywords[keywordIndex[out]], start, end));
+				}
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * @param text the text to scan, may be <code>null</code>
+	 * @return <code>true</code> if the text contains at least one DFDD term,
+	 * <code>false</code> otherwise
+	 */
+	public boolean containsDfddTerm(CharSequence text) {
+		return !scan(text).isEmpty();
+	}
+
+	private int transition(int state, char c) {
+		int t = Arrays.binarySearch(labels[state], c);
+		return (t >= 0) ? targets[state][t] : -1;
+	}
+
+	private char fold(char c) {
+		return ignoreCase ? Character.toLowerCase(c) : c;
+	}
+
+	private static boolean isBoundary(CharSequence text, int index) {
+		return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+	}
+
+	private static List<String> terms(String keyword, MatchMode mode) {
+		if (mode != MatchMode.NORMALIZED)
+			return Collections.singletonList(keyword);
+		List<String> terms = new ArrayList<>();
+		terms.add(keyword);
+		for (char separator : WORD_SEPARATORS) {
+			String separated = splitCamelCase(keyword, separator);
+			if (!separated.equals(keyword))
+				terms.add(separated);
+		}
+		return terms;
+	}
+
+	private static String splitCamelCase(String keyword, char separator) {
+		StringBuilder sb = new StringBuilder(keyword.length() + 4);
+		for (int i = 0; i < keyword.length(); i++) {
+			char c = keyword.charAt(i);
+			if (i > 0 && Character.isUpperCase(c) && Character.isLowerCase(keyword.charAt(i - 1)))
+				sb.append(separator);
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,56 @@
+package de.latlon.ets.core.keyword;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Defines how keywords are compared with the keywords of the DFDD register.
+ */
+public enum MatchMode {
+
+	/**
+	 * Keywords must be equal to a DFDD keyword (case-sensitive).
+	 */
+	EXACT {
+		@Override
+		String normalize(String keyword) {
+			return keyword;
+		}
+	},
+
+	/**
+	 * Keywords are compared ignoring case.
+	 */
+	IGNORE_CASE {
+		@Override
+		String normalize(String keyword) {
+			return keyword.toLowerCase(Locale.ROOT);
+		}
+	},
+
+	/**
+	 * Keywords are compared ignoring case, Unicode compatibility variants, white space,
+	 * hyphens and underscores, e.g. "Administrative boundary" matches
+	 * "AdministrativeBoundary".
+	 */
+	NORMALIZED {
+		@Override
+		String normalize(String keyword) {
+			String normalized = Normalizer.normalize(keyword, Normalizer.Form.NFKC);
+			StringBuilder sb = new StringBuilder(normalized.length());
+			for (int i = 0; i < normalized.length(); i++) {
+				char c = normalized.charAt(i);
+				if (!Character.isWhitespace(c) && c != '-' && c != '_')
+					sb.append(c);
+			}
+			return sb.toString().toLowerCase(Locale.ROOT);
+		}
+	};
+
+	/**
+	 * @param keyword the keyword, never <code>null</code>
+	 * @return the form of the keyword used for comparison, never <code>null</code>
+	 */
+	abstract String normalize(String keyword);
+
+}
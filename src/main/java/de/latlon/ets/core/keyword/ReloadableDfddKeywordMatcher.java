@@ -0,0 +1,191 @@
+package de.latlon.ets.core.keyword;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import de.latlon.ets.core.util.TestSuiteLogger;
+import de.latlon.ets.core.util.UriContentCache;
+
+/**
+ * A {@link DfddKeywordMatcher} using an external DFDD register (UTF-8, one keyword per
+ * line) instead of the one shipped with this library. The register is located by a file
+ * path or an absolute URI; remote registers are downloaded through the
+ * {@link UriContentCache}. The file is memory-mapped when loaded.
+ *
+ * The register is checked for modifications at most once per check interval. A modified
+ * register is loaded completely before it replaces the current one in a single atomic
+ * step, so a check in progress always uses either the old or the new register. If loading
+ * fails, the current register remains in use. To avoid loading a file that is still being
+ * written, it should be replaced by moving a complete file to its location.
+ *
+ * The default location and check interval are configured by the following system
+ * properties:
+ * <ul>
+ * <li>{@value #REGISTER_LOCATION_PROPERTY}: file path or URI of the register (default:
+ * none, the register shipped with this library is used)</li>
+ * <li>{@value #CHECK_INTERVAL_PROPERTY}: minimum time between two modification checks in
+ * milliseconds (default: {@value #DEFAULT_CHECK_INTERVAL})</li>
+ * </ul>
+ */
+public class ReloadableDfddKeywordMatcher extends DfddKeywordMatcherFromFile {
+
+	/**
+	 * Name of the system property specifying the file path or URI of the DFDD register.
+	 */
+	public static final String REGISTER_LOCATION_PROPERTY = "de.latlon.ets.core.keyword.register";
+
+	/**
+	 * Name of the system property specifying the minimum time between two modification
+	 * checks in milliseconds.
+	 */
+	public static final String CHECK_INTERVAL_PROPERTY = "de.latlon.ets.core.keyword.checkInterval";
+
+	static final long DEFAULT_CHECK_INTERVAL = 10000;
+
+	private static final int INITIAL_LOAD_ATTEMPTS = 3;
+
+	private final URI location;
+
+	private final long checkInterval;
+
+	private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+	private final AtomicBoolean checking = new AtomicBoolean();
+
+	private volatile long nextCheck;
+
+	/**
+	 * Creates a matcher using the register configured by
+	 * {@value #REGISTER_LOCATION_PROPERTY}. If the property is not set, the register
+	 * shipped with this library is used.
+	 * @param mode the comparison to apply, never <code>null</code>
+	 * @throws IOException if the configured register cannot be loaded
+	 */
+	public ReloadableDfddKeywordMatcher(MatchMode mode) throws IOException {
+		this(toUri(System.getProperty(REGISTER_LOCATION_PROPERTY)), mode,
+				Long.getLong(CHECK_INTERVAL_PROPERTY, DEFAULT_CHECK_INTERVAL));
+	}
+
+	/**
+	 * @param location the file or absolute URI of the register, <code>null</code> to use
+	 * the register shipped with this library
+	 * @param mode the comparison to apply, never <code>null</code>
+	 * @param checkInterval minimum time between two modification checks in milliseconds,
+	 * 0 checks on every use
+	 * @throws IOException if the register cannot be loaded or keeps changing while it
+	 * is loaded
+	 */
+	public ReloadableDfddKeywordMatcher(URI location, MatchMode mode, long checkInterval) throws IOException {
+		super(mode);
+		this.location = location;
+		this.checkInterval = checkInterval;
+		if (null != location) {
+			for (int attempt = 0; attempt < INITIAL_LOAD_ATTEMPTS && null == current.get(); attempt++) {
+				reload();
+			}
+			if (null == current.get()) {
+				throw new IOException("DFDD register " + location + " was modified while loading it.");
+			}
+		}
+	}
+
+	/**
+	 * Loads the register if it was modified since it was loaded last.
+	 * @return <code>true</code> if a modified register was loaded, <code>false</code>
+	 * otherwise
+	 * @throws IOException if the register cannot be loaded
+	 */
+	public boolean reload() throws IOException {
+		if (null == location)
+			return false;
+		nextCheck = System.currentTimeMillis() + checkInterval;
+		Snapshot previous = current.get();
+		boolean local = "file".equals(location.getScheme());
+		Path file = local ? Paths.get(location) : UriContentCache.get(location).toPath();
+		long lastModified = Files.getLastModifiedTime(file).toMillis();
+		long size = Files.size(file);
+		if (local && null != previous && previous.lastModified == lastModified && previous.size == size) {
+			return false;
+		}
+		DfddKeywordRegister register = DfddKeywordRegister.map(file);
+		if (local && (lastModified != Files.getLastModifiedTime(file).toMillis() || size != Files.size(file))) {
+			// modified while loading, try again with the next check
+			return false;
+		}
+		if (null != previous && previous.register.getKeywords().equals(register.getKeywords())) {
+			// remember the new modification time, the file is not loaded again
+			current.set(new Snapshot(previous.register, lastModified, size));
+			return false;
+		}
+		current.set(new Snapshot(register, lastModified, size));
+		TestSuiteLogger.log(Level.INFO,
+				"Loaded " + register.getKeywords().size() + " DFDD keywords from " + location);
+		return true;
+	}
+
+	/**
+	 * @return the location of the register, <code>null</code> if the register shipped
+	 * with this library is used
+	 */
+	public URI getLocation() {
+		return location;
+	}
+
+	@Override
+	protected DfddKeywordRegister getRegister() {
+		if (null == location) {
+			return super.getRegister();
+		}
+		if (System.currentTimeMillis() >= nextCheck && checking.compareAndSet(false, true)) {
+			try {
+				reload();
+			}
+			catch (IOException e) {
+				TestSuiteLogger.log(Level.WARNING, "Could not reload DFDD register from " + location, e);
+			}
+			finally {
+				checking.set(false);
+			}
+		}
+		return current.get().register;
+	}
+
+	private static URI toUri(String location) {
+		if (null == location || location.isEmpty())
+			return null;
+		try {
+			URI uri = new URI(location);
+			// a single letter is a drive letter of a Windows path
+			if (uri.isAbsolute() && uri.getScheme().length() > 1)
+				return uri;
+		}
+		catch (URISyntaxException e) {
+			// a file path
+		}
+		return Paths.get(location).toUri();
+	}
+
+	private static final class Snapshot {
+
+		private final DfddKeywordRegister register;
+
+		private final long lastModified;
+
+		private final long size;
+
+		private Snapshot(DfddKeywordRegister register, long lastModified, long size) {
+			this.register = register;
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+
+	}
+
+}
@@ -0,0 +1,90 @@
+package de.latlon.ets.core.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Keeps at most a given number of characters in memory and counts the characters beyond
+ * this limit. All characters are additionally written to an optional spill writer, e.g.
+ * a file holding the complete content.
+ */
+public class BoundedWriter extends Writer {
+
+	private final StringBuilder content = new StringBuilder();
+
+	private final int maxLength;
+
+	private final Writer spill;
+
+	private long length;
+
+	/**
+	 * @param maxLength the maximum number of characters kept in memory, must not be
+	 * negative
+	 * @param spill receives all characters, may be <code>null</code>
+	 */
+	public BoundedWriter(int maxLength, Writer spill) {
+		if (maxLength < 0) {
+			throw new IllegalArgumentException("Maximum length must not be negative.");
+		}
+		this.maxLength = maxLength;
+		this.spill = spill;
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		int remaining = maxLength - content.length();
+		if (remaining > 0) {
+			content.append(cbuf, off, Math.min(remaining, len));
+		}
+		length += len;
+		if (null != spill) {
+			spill.write(cbuf, off, len);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (null != spill) {
+			spill.flush();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (null != spill) {
+			spill.close();
+		}
+	}
+
+	/**
+	 * @return the number of characters written so far
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * @return the number of characters written but not kept in memory
+	 */
+	public long getTruncatedLength() {
+		return length - content.length();
+	}
+
+	/**
+	 * @return <code>true</code> if more characters were written than kept in memory,
+	 * <code>false</code> otherwise
+	 */
+	public boolean isTruncated() {
+		return length > content.length();
+	}
+
+	/**
+	 * @return the characters kept in memory, never <code>null</code>
+	 */
+	@Override
+	public String toString() {
+		return content.toString();
+	}
+
+}
@@ -0,0 +1,94 @@
+package de.latlon.ets.core.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache key identifying a compiled expression by its text and the namespace bindings in
+ * effect during compilation.
+ */
+final class ExpressionKey {
+
+	private final String expr;
+
+	private final Map<String, String> bindings;
+
+	private final int hash;
+
+	/**
+	 * @param expr the expression text, never <code>null</code>
+	 * @param nsBindings the namespace bindings (namespace URI to prefix), may be
+	 * <code>null</code>; a copy is taken
+	 */
+	ExpressionKey(String expr, Map<String, String> nsBindings) {
+		if (null == expr) {
+			throw new IllegalArgumentException("Expression is null.");
+		}
+		this.expr = expr;
+		this.bindings = (null != nsBindings) ? new HashMap<>(nsBindings) : Collections.emptyMap();
+		this.hash = 31 * expr.hashCode() + bindings.hashCode();
+	}
+
+	/**
+	 * @param expr the expression text, never <code>null</code>
+	 * @param nsBindings frozen namespace bindings, never <code>null</code>; neither
+	 * copied nor hashed again
+	 */
+	ExpressionKey(String expr, NamespaceBindings nsBindings) {
+		if (null == expr) {
+			throw new IllegalArgumentException("Expression is null.");
+		}
+		if (!nsBindings.isFrozen()) {
+			throw new IllegalArgumentException("Namespace bindings are not frozen.");
+		}
+		this.expr = expr;
+		this.bindings = nsBindings.getAllBindings();
+		this.hash = 31 * expr.hashCode() + nsBindings.hashCode();
+	}
+
+	private ExpressionKey(String expr, Map<String, String> bindings, int hash) {
+		this.expr = expr;
+		this.bindings = bindings;
+		this.hash = hash;
+	}
+
+	/**
+	 * Creates a key to look up an expression without copying the namespace bindings. The
+	 * key reflects later modifications of the bindings, so it must not be stored in a
+	 * cache.
+	 * @param expr the expression text, never <code>null</code>
+	 * @param nsBindings the namespace bindings, frozen or not, never <code>null</code>
+	 * @return the key, never <code>null</code>
+	 */
+	static ExpressionKey lookup(String expr, NamespaceBindings nsBindings) {
+		if (null == expr) {
+			throw new IllegalArgumentException("Expression is null.");
+		}
+		return new ExpressionKey(expr, nsBindings.getAllBindings(), 31 * expr.hashCode() + nsBindings.hashCode());
+	}
+
+	String getExpression() {
+		return expr;
+	}
+
+	Map<String, String> getBindings() {
+		return bindings;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof ExpressionKey))
+			return false;
+		ExpressionKey other = (ExpressionKey) obj;
+		return hash == other.hash && expr.equals(other.expr) && bindings.equals(other.bindings);
+	}
+
+}
@@ -0,0 +1,176 @@
+package de.latlon.ets.core.util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Invocation.Builder;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Provides a shared HTTP client. The client is created once and reused for all
+ * requests. It uses the default Jersey connector based on HttpURLConnection, no
+ * connection pool is configured: idle persistent (keep-alive) connections are kept by the
+ * keep-alive cache of the JDK, whose size per destination is controlled by the system
+ * property "http.maxConnections" (default: 5). A connection is only returned to this
+ * cache if the response is closed, which is ensured by
+ * {@link #execute(URI, String, Map, ResponseHandler)}.
+ *
+ * The client is configured by the following system properties:
+ * <ul>
+ * <li>{@value #CONNECT_TIMEOUT_PROPERTY}: connect timeout in milliseconds (default:
+ * {@value #DEFAULT_CONNECT_TIMEOUT})</li>
+ * <li>{@value #READ_TIMEOUT_PROPERTY}: read timeout in milliseconds (default:
+ * {@value #DEFAULT_READ_TIMEOUT})</li>
+ * <li>{@value #MAX_CONNECTIONS_PER_HOST_PROPERTY}: maximum number of concurrent requests
+ * per host (default: {@value #DEFAULT_MAX_CONNECTIONS_PER_HOST})</li>
+ * </ul>
+ */
+public final class HttpClientProvider {
+
+	/**
+	 * Name of the system property specifying the connect timeout in milliseconds.
+	 */
+	public static final String CONNECT_TIMEOUT_PROPERTY = "de.latlon.ets.core.http.connectTimeout";
+
+	/**
+	 * Name of the system property specifying the read timeout in milliseconds.
+	 */
+	public static final String READ_TIMEOUT_PROPERTY = "de.latlon.ets.core.http.readTimeout";
+
+	/**
+	 * Name of the system property specifying the maximum number of concurrent requests
+	 * per host.
+	 */
+	public static final String MAX_CONNECTIONS_PER_HOST_PROPERTY = "de.latlon.ets.core.http.maxConnectionsPerHost";
+
+	static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+
+	static final int DEFAULT_READ_TIMEOUT = 60000;
+
+	static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 8;
+
+	private static final ConcurrentMap<String, Semaphore> HOST_PERMITS = new ConcurrentHashMap<>();
+
+	private static Client client;
+
+	private HttpClientProvider() {
+	}
+
+	/**
+	 * Processes the response of an HTTP request.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public interface ResponseHandler<T> {
+
+		/**
+		 * @param response the response, never <code>null</code>; it is closed after this
+		 * method returns
+		 * @return the result of the processing
+		 * @throws IOException if the response cannot be processed
+		 */
+		T handle(Response response) throws IOException;
+
+	}
+
+	/**
+	 * @return the shared client, never <code>null</code>
+	 */
+	public static synchronized Client getClient() {
+		if (null == client) {
+			ClientConfig config = new ClientConfig();
+			config.property(ClientProperties.CONNECT_TIMEOUT,
+					Integer.getInteger(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT));
+			config.property(ClientProperties.READ_TIMEOUT,
+					Integer.getInteger(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT));
+			client = ClientBuilder.newClient(config);
+		}
+		return client;
+	}
+
+	/**
+	 * Sends a GET request to the given URI.
+	 * @param <T> the type of the result
+	 * @param uri the absolute URI of the resource, never <code>null</code>
+	 * @param handler processes the response, never <code>null</code>
+	 * @return the result of the handler
+	 * @throws IOException if the request fails or the response cannot be processed
+	 */
+	public static <T> T get(URI uri, ResponseHandler<T> handler) throws IOException {
+		return execute(uri, "GET", Collections.emptyMap(), handler);
+	}
+
+	/**
+	 * Sends an HTTP request to the given URI without a request entity. The number of
+	 * concurrent requests to the same host is limited; the response is closed after it
+	 * was processed.
+	 * @param <T> the type of the result
+	 * @param uri the absolute URI of the resource, never <code>null</code>
+	 * @param method the HTTP method, e.g. GET or HEAD, never <code>null</code>
+	 * @param headers the request headers, may be empty but never <code>null</code>
+	 * @param handler processes the response, never <code>null</code>
+	 * @return the result of the handler
+	 * @throws IOException if the request fails or the response cannot be processed
+	 */
+	public static <T> T execute(URI uri, String method, Map<String, Object> headers, ResponseHandler<T> handler)
+			throws IOException {
+		if (null == uri) {
+			throw new NullPointerException("URI is null.");
+		}
+		Semaphore permits = HOST_PERMITS.computeIfAbsent(String.valueOf(uri.getAuthority()),
+				host -> new Semaphore(
+						Integer.getInteger(MAX_CONNECTIONS_PER_HOST_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_HOST)));
+		try {
+			permits.acquire();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a connection to " + uri.getAuthority(), e);
+		}
+		try {
+			Builder builder = getClient().target(uri).request();
+			for (Map.Entry<String, Object> header : headers.entrySet()) {
+				builder.header(header.getKey(), header.getValue());
+			}
+			TestSuiteLogger.log(Level.FINE, () -> method + " " + uri);
+			Response rsp = builder.build(method).invoke();
+			try {
+				return handler.handle(rsp);
+			}
+			finally {
+				rsp.close();
+			}
+		}
+		catch (ProcessingException e) {
+			throw new IOException(method + " " + uri + " failed: " + e.getMessage(), e);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Closes the shared client and all its connections. A new client is created on next
+	 * use.
+	 */
+	public static synchronized void close() {
+		if (null != client) {
+			client.close();
+			client = null;
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+package de.latlon.ets.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map that holds at most a fixed number of entries; if the limit is exceeded the least
+ * recently accessed entry is evicted. Instances are not synchronized.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int maxEntries;
+
+	/**
+	 * @param maxEntries the maximum number of entries, must be greater than zero
+	 */
+	public LruCache(int maxEntries) {
+		super(16, 0.75f, true);
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Maximum number of entries must be greater than zero: " + maxEntries);
+		}
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * @return the maximum number of entries held by this cache
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+		return size() > maxEntries;
+	}
+
+}
@@ -1,6 +1,5 @@
 package de.latlon.ets.core.util;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -12,20 +11,47 @@ import javax.xml.namespace.NamespaceContext;
  * Provides namespace bindings for evaluating XPath 1.0 expressions using the JAXP XPath
  * API. A namespace name (URI) may be bound to only one prefix.
  *
+ * The bindings are indexed in both directions, so looking up the namespace name of a
+ * prefix does not scan all bindings. Instances are mutable and not thread-safe;
+ * {@link #freeze()} returns an immutable copy which may be shared between threads and
+ * used as a cache key. The hash code of a mutable instance changes with its bindings, so
+ * only frozen instances must be used as keys of hash-based collections. Frequently used
+ * bindings are provided by {@link StandardNamespaces}.
+ *
  * @author <a href="mailto:goltz@lat-lon.de">Lyn Goltz</a>
  */
 public class NamespaceBindings implements NamespaceContext {
 
-	private Map<String, String> bindings = new HashMap<String, String>();
+	/** namespace name to prefix */
+	private final Map<String, String> bindings;
+
+	/** prefix to namespace name */
+	private final Map<String, String> prefixIndex;
+
+	private final boolean frozen;
+
+	private final int hash;
+
+	/**
+	 * Creates an empty, mutable set of namespace bindings.
+	 */
+	public NamespaceBindings() {
+		this.bindings = new HashMap<>();
+		this.prefixIndex = new HashMap<>();
+		this.frozen = false;
+		this.hash = 0;
+	}
+
+	private NamespaceBindings(NamespaceBindings source) {
+		this.bindings = Collections.unmodifiableMap(new HashMap<>(source.bindings));
+		this.prefixIndex = Collections.unmodifiableMap(new HashMap<>(source.prefixIndex));
+		this.frozen = true;
+		this.hash = bindings.hashCode();
+	}
 
 	@Override
 	public String getNamespaceURI(String prefix) {
-		for (Map.Entry<String, String> binding : bindings.entrySet()) {
-			if (binding.getValue().equals(prefix)) {
-				return binding.getKey();
-			}
-		}
-		return null;
+		return prefixIndex.get(prefix);
 	}
 
 	@Override
@@ -35,7 +61,8 @@ public class NamespaceBindings implements NamespaceContext {
 
 	@Override
 	public Iterator<String> getPrefixes(String namespaceURI) {
-		return Arrays.asList(getPrefix(namespaceURI)).iterator();
+		String prefix = getPrefix(namespaceURI);
+		return (null != prefix) ? Collections.singleton(prefix).iterator() : Collections.emptyIterator();
 	}
 
 	/**
@@ -43,9 +70,22 @@ public class NamespaceBindings implements NamespaceContext {
 	 * binding for a given namespace name already exists it will be replaced.
 	 * @param namespaceURI A String denoting a namespace name (an absolute URI value).
 	 * @param prefix A prefix associated with the namespace name.
+	 * @throws UnsupportedOperationException if the bindings are frozen
 	 */
 	public void addNamespaceBinding(String namespaceURI, String prefix) {
-		bindings.put(namespaceURI, prefix);
+		checkNotFrozen();
+		String previousPrefix = bindings.put(namespaceURI, prefix);
+		prefixIndex.put(prefix, namespaceURI);
+		if (null != previousPrefix && !previousPrefix.equals(prefix)
+				&& prefixIndex.remove(previousPrefix, namespaceURI)) {
+			// another namespace name may still be bound to the previous prefix
+			for (Map.Entry<String, String> binding : bindings.entrySet()) {
+				if (binding.getValue().equals(previousPrefix)) {
+					prefixIndex.put(previousPrefix, binding.getKey());
+					break;
+				}
+			}
+		}
 	}
 
 	/**
@@ -53,10 +93,15 @@ public class NamespaceBindings implements NamespaceContext {
 	 * @param nsBindings A Map containing a collection of namespace bindings where the key
 	 * is an absolute URI specifying the namespace name and the value denotes the
 	 * associated prefix.
+	 * @throws UnsupportedOperationException if the bindings are frozen
 	 */
 	public void addAllBindings(Map<String, String> nsBindings) {
-		if (null != nsBindings)
-			bindings.putAll(nsBindings);
+		checkNotFrozen();
+		if (null != nsBindings) {
+			for (Map.Entry<String, String> binding : nsBindings.entrySet()) {
+				addNamespaceBinding(binding.getKey(), binding.getValue());
+			}
+		}
 	}
 
 	/**
@@ -66,7 +111,41 @@ public class NamespaceBindings implements NamespaceContext {
 	 * prefix.
 	 */
 	public Map<String, String> getAllBindings() {
-		return Collections.unmodifiableMap(this.bindings);
+		return frozen ? bindings : Collections.unmodifiableMap(this.bindings);
+	}
+
+	/**
+	 * Returns an immutable copy of these bindings. The hash code of the copy is computed
+	 * once.
+	 * @return the immutable bindings, <code>this</code> if already frozen
+	 */
+	public NamespaceBindings freeze() {
+		return frozen ? this : new NamespaceBindings(this);
+	}
+
+	/**
+	 * @return <code>true</code> if these bindings are immutable, <code>false</code>
+	 * otherwise
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	@Override
+	public int hashCode() {
+		return frozen ? hash : bindings.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof NamespaceBindings))
+			return false;
+		NamespaceBindings other = (NamespaceBindings) obj;
+		if (frozen && other.frozen && hash != other.hash)
+			return false;
+		return bindings.equals(other.bindings);
 	}
 
 	@Override
@@ -74,4 +153,10 @@ public class NamespaceBindings implements NamespaceContext {
 		return "NamespaceBindings:\n" + bindings;
 	}
 
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("Namespace bindings are frozen.");
+		}
+	}
+
 }
@@ -0,0 +1,154 @@
+package de.latlon.ets.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Provides pooled, pre-configured DocumentBuilders for each {@link ParserProfile}. The
+ * DocumentBuilderFactory of a profile is configured once; a DocumentBuilder is reset
+ * before it is returned to the pool.
+ *
+ * The maximum number of idle DocumentBuilders per profile can be set using the system
+ * property {@value #POOL_SIZE_PROPERTY} (default: {@value #DEFAULT_POOL_SIZE}).
+ */
+public final class ParserPool {
+
+	/**
+	 * Name of the system property specifying the maximum number of idle DocumentBuilders
+	 * per profile.
+	 */
+	public static final String POOL_SIZE_PROPERTY = "de.latlon.ets.core.parser.poolSize";
+
+	static final int DEFAULT_POOL_SIZE = 16;
+
+	private static final Map<ParserProfile, ProfilePool> POOLS = new EnumMap<>(ParserProfile.class);
+
+	static {
+		int poolSize = Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE);
+		for (ParserProfile profile : ParserProfile.values()) {
+			POOLS.put(profile, new ProfilePool(profile, poolSize));
+		}
+	}
+
+	private ParserPool() {
+	}
+
+	/**
+	 * Parses the XML resource at the given location.
+	 * @param systemId An absolute URI specifying the location of an XML resource, never
+	 * <code>null</code>.
+	 * @param profile The parser configuration, never <code>null</code>.
+	 * @return A DOM Document node representing the XML resource.
+	 * @throws SAXException If the resource cannot be parsed or no DocumentBuilder can be
+	 * created for the given profile.
+	 * @throws IOException If the resource is not accessible.
+	 */
+	public static Document parse(String systemId, ParserProfile profile) throws SAXException, IOException {
+		return parse(new InputSource(systemId), profile);
+	}
+
+	/**
+	 * Parses the XML resource read from the given stream. The stream is not closed.
+	 * @param inputStream The stream to read from, never <code>null</code>.
+	 * @param profile The parser configuration, never <code>null</code>.
+	 * @return A DOM Document node representing the XML resource.
+	 * @throws SAXException If the resource cannot be parsed or no DocumentBuilder can be
+	 * created for the given profile.
+	 * @throws IOException If the stream cannot be read.
+	 */
+	public static Document parse(InputStream inputStream, ParserProfile profile) throws SAXException, IOException {
+		return parse(new InputSource(inputStream), profile);
+	}
+
+	/**
+	 * Parses the given XML input source.
+	 * @param inputSource The input source, never <code>null</code>.
+	 * @param profile The parser configuration, never <code>null</code>.
+	 * @return A DOM Document node representing the XML resource.
+	 * @throws SAXException If the resource cannot be parsed or no DocumentBuilder can be
+	 * created for the given profile.
+	 * @throws IOException If the resource is not accessible.
+	 */
+	public static Document parse(InputSource inputSource, ParserProfile profile) throws SAXException, IOException {
+		ProfilePool pool = POOLS.get(profile);
+		DocumentBuilder builder = pool.borrow();
+		try {
+			return builder.parse(inputSource);
+		}
+		finally {
+			pool.release(builder);
+		}
+	}
+
+	/**
+	 * Creates a new, empty DOM Document.
+	 * @param profile The parser configuration, never <code>null</code>.
+	 * @return A new Document, never <code>null</code>.
+	 * @throws SAXException If no DocumentBuilder can be created for the given profile.
+	 */
+	public static Document newDocument(ParserProfile profile) throws SAXException {
+		ProfilePool pool = POOLS.get(profile);
+		DocumentBuilder builder = pool.borrow();
+		try {
+			return builder.newDocument();
+		}
+		finally {
+			pool.release(builder);
+		}
+	}
+
+	private static final class ProfilePool {
+
+		private final ParserProfile profile;
+
+		private final BlockingQueue<DocumentBuilder> idleBuilders;
+
+		private DocumentBuilderFactory factory;
+
+		private ProfilePool(ParserProfile profile, int poolSize) {
+			this.profile = profile;
+			this.idleBuilders = new ArrayBlockingQueue<>(poolSize);
+		}
+
+		private DocumentBuilder borrow() throws SAXException {
+			DocumentBuilder builder = idleBuilders.poll();
+			if (null != builder)
+				return builder;
+			try {
+				return newDocumentBuilder();
+			}
+			catch (ParserConfigurationException e) {
+				throw new SAXException("Failed to create DocumentBuilder for profile " + profile, e);
+			}
+		}
+
+		private void release(DocumentBuilder builder) {
+			builder.reset();
+			idleBuilders.offer(builder);
+		}
+
+		// a DocumentBuilderFactory is not thread-safe
+		private synchronized DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+			if (null == factory) {
+				DocumentBuilderFactory newFactory = DocumentBuilderFactory.newInstance();
+				profile.configure(newFactory);
+				factory = newFactory;
+			}
+			return factory.newDocumentBuilder();
+		}
+
+	}
+
+}
@@ -0,0 +1,82 @@
+package de.latlon.ets.core.util;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Configuration profiles of the DocumentBuilders provided by the {@link ParserPool}.
+ */
+public enum ParserProfile {
+
+	/**
+	 * The JAXP default configuration; namespace processing is disabled.
+	 */
+	DEFAULT {
+		@Override
+		void configure(DocumentBuilderFactory factory) {
+		}
+	},
+
+	/**
+	 * Namespace processing is enabled.
+	 */
+	NAMESPACE_AWARE {
+		@Override
+		void configure(DocumentBuilderFactory factory) {
+			factory.setNamespaceAware(true);
+		}
+	},
+
+	/**
+	 * Namespace processing is enabled, entity reference nodes are not expanded and XML
+	 * inclusions (xi:include elements) are processed without adding xml:base
+	 * attributes.
+	 */
+	XINCLUDE {
+		@Override
+		void configure(DocumentBuilderFactory factory) throws ParserConfigurationException {
+			factory.setNamespaceAware(true);
+			factory.setExpandEntityReferences(false);
+			factory.setXIncludeAware(true);
+			// XInclude processor will not add xml:base attributes
+			factory.setFeature(FIXUP_BASE_URI, false);
+		}
+	},
+
+	/**
+	 * Like {@link #XINCLUDE}, but the parser is explicitly told to build a deferred DOM:
+	 * nodes are only materialized when they are visited, which reduces heap usage and
+	 * parse time for large documents if only a small part of the tree is accessed. The
+	 * Xerces based parsers support this feature.
+	 */
+	XINCLUDE_DEFERRED {
+		@Override
+		void configure(DocumentBuilderFactory factory) throws ParserConfigurationException {
+			XINCLUDE.configure(factory);
+			factory.setFeature(DEFER_NODE_EXPANSION, true);
+		}
+	},
+
+	/**
+	 * Namespace processing is enabled, secure processing is enabled and access to
+	 * external DTDs and schemas is denied.
+	 */
+	SECURE {
+		@Override
+		void configure(DocumentBuilderFactory factory) throws ParserConfigurationException {
+			factory.setNamespaceAware(true);
+			factory.setExpandEntityReferences(false);
+			factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+			factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+		}
+	};
+
+	private static final String FIXUP_BASE_URI = "http://apache.org/xml/features/xinclude/fixup-base-uris";
+
+	static final String DEFER_NODE_EXPANSION = "http://apache.org/xml/features/dom/defer-node-expansion";
+
+	abstract void configure(DocumentBuilderFactory factory) throws ParserConfigurationException;
+
+}
@@ -0,0 +1,82 @@
+package de.latlon.ets.core.util;
+
+/**
+ * Namespace names and prefixes of the OGC and W3C schemas referenced by the DGIWG
+ * profiles. The provided bindings are frozen and may be shared by all test classes.
+ */
+public final class StandardNamespaces {
+
+	/** OGC Web Map Service 1.3 */
+	public static final String WMS = "http://www.opengis.net/wms";
+
+	/** OGC Web Feature Service 2.0 */
+	public static final String WFS = "http://www.opengis.net/wfs/2.0";
+
+	/** OGC Web Map Tile Service 1.0 */
+	public static final String WMTS = "http://www.opengis.net/wmts/1.0";
+
+	/** OGC Web Services Common 1.1 */
+	public static final String OWS = "http://www.opengis.net/ows/1.1";
+
+	/** OGC Filter Encoding 2.0 */
+	public static final String FES = "http://www.opengis.net/fes/2.0";
+
+	/** OGC Geography Markup Language 3.2 */
+	public static final String GML = "http://www.opengis.net/gml/3.2";
+
+	/** OGC Styled Layer Descriptor 1.1 */
+	public static final String SLD = "http://www.opengis.net/sld";
+
+	/** OGC Symbology Encoding 1.1 */
+	public static final String SE = "http://www.opengis.net/se";
+
+	/** W3C XML Linking Language */
+	public static final String XLINK = "http://www.w3.org/1999/xlink";
+
+	/** W3C XML Schema instance */
+	public static final String XSI = "http://www.w3.org/2001/XMLSchema-instance";
+
+	/** SOAP 1.2 envelope */
+	public static final String SOAP12 = "http://www.w3.org/2003/05/soap-envelope";
+
+	/** Schematron Validation Report Language */
+	public static final String SVRL = "http://purl.oclc.org/dsdl/svrl";
+
+	/**
+	 * The bindings of all namespaces declared by this class, using the conventional
+	 * prefixes (e.g. "wms", "ows", "gml").
+	 */
+	public static final NamespaceBindings ALL = createBindings();
+
+	private StandardNamespaces() {
+	}
+
+	/**
+	 * Returns mutable bindings initialized with all standard namespaces, e.g. to add
+	 * suite-specific bindings.
+	 * @return new bindings, never <code>null</code>
+	 */
+	public static NamespaceBindings newBindings() {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addAllBindings(ALL.getAllBindings());
+		return nsBindings;
+	}
+
+	private static NamespaceBindings createBindings() {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addNamespaceBinding(WMS, "wms");
+		nsBindings.addNamespaceBinding(WFS, "wfs");
+		nsBindings.addNamespaceBinding(WMTS, "wmts");
+		nsBindings.addNamespaceBinding(OWS, "ows");
+		nsBindings.addNamespaceBinding(FES, "fes");
+		nsBindings.addNamespaceBinding(GML, "gml");
+		nsBindings.addNamespaceBinding(SLD, "sld");
+		nsBindings.addNamespaceBinding(SE, "se");
+		nsBindings.addNamespaceBinding(XLINK, "xlink");
+		nsBindings.addNamespaceBinding(XSI, "xsi");
+		nsBindings.addNamespaceBinding(SOAP12, "soap");
+		nsBindings.addNamespaceBinding(SVRL, "svrl");
+		return nsBindings.freeze();
+	}
+
+}
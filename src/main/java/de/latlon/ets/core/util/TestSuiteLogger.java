@@ -1,5 +1,6 @@
 package de.latlon.ets.core.util;
 
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,6 +52,16 @@ public final class TestSuiteLogger {
 		}
 	}
 
+	/**
+	 * Logs a message at the specified logging level. The message is only constructed if
+	 * the logger is enabled at the given level.
+	 * @param level The logging {@link Level level}.
+	 * @param messageSupplier A function producing the content of the log message.
+	 */
+	public static void log(Level level, Supplier<String> messageSupplier) {
+		LOGR.log(level, messageSupplier);
+	}
+
 	/**
 	 * Indicates if the logger is enabled at a given logging level. Message levels lower
 	 * than this value will be discarded.
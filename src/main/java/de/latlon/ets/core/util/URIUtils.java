@@ -2,35 +2,17 @@ package de.latlon.ets.core.util;
 
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
-import java.util.logging.Level;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.glassfish.jersey.client.ClientConfig;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
-import jakarta.ws.rs.client.Client;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.client.Invocation.Builder;
-import jakarta.ws.rs.client.WebTarget;
-import jakarta.ws.rs.core.HttpHeaders;
-import jakarta.ws.rs.core.Response;
-
 /**
  * Provides a collection of utility methods for manipulating or resolving URI references.
  */
 public final class URIUtils {
 
-	private static final String FIXUP_BASE_URI = "http://apache.org/xml/features/xinclude/fixup-base-uris";
-
 	private URIUtils() {
 	}
 
@@ -44,23 +26,29 @@ public final class URIUtils {
 	 * @throws IOException If the resource is not accessible.
 	 */
 	public static Document resolveURIAsDocument(URI uriRef) throws SAXException, IOException {
+		return resolveURIAsDocument(uriRef, false);
+	}
+
+	/**
+	 * Parses the content of the given URI as an XML document and returns a new DOM
+	 * Document object. Entity reference nodes will not be expanded. XML inclusions
+	 * (xi:include elements) will be processed if present.
+	 * @param uriRef An absolute URI specifying the location of an XML resource.
+	 * @param deferNodeExpansion <code>true</code> if a deferred DOM should be built,
+	 * where nodes are only materialized when they are visited (see
+	 * {@link ParserProfile#XINCLUDE_DEFERRED}), <code>false</code> if the default of the
+	 * parser implementation should be used
+	 * @return A DOM Document node representing an XML resource.
+	 * @throws SAXException If the resource cannot be parsed.
+	 * @throws IOException If the resource is not accessible.
+	 */
+	public static Document resolveURIAsDocument(URI uriRef, boolean deferNodeExpansion)
+			throws SAXException, IOException {
 		if ((null == uriRef) || !uriRef.isAbsolute()) {
 			throw new IllegalArgumentException("Absolute URI is required, but received " + uriRef);
 		}
-		DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-		docFactory.setNamespaceAware(true);
-		docFactory.setExpandEntityReferences(false);
-		docFactory.setXIncludeAware(true);
-		Document doc = null;
-		try {
-			// XInclude processor will not add xml:base attributes
-			docFactory.setFeature(FIXUP_BASE_URI, false);
-			DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
-			doc = docBuilder.parse(uriRef.toString());
-		}
-		catch (ParserConfigurationException x) {
-			TestSuiteLogger.log(Level.WARNING, "Failed to create DocumentBuilder." + x);
-		}
+		ParserProfile profile = deferNodeExpansion ? ParserProfile.XINCLUDE_DEFERRED : ParserProfile.XINCLUDE;
+		Document doc = ParserPool.parse(uriRef.toString(), profile);
 		if (null != doc) {
 			doc.setDocumentURI(uriRef.toString());
 		}
@@ -68,12 +56,15 @@ public final class URIUtils {
 	}
 
 	/**
-	 * Dereferences the given URI and stores the resulting resource representation in a
-	 * local file. The file will be located in the default temporary file directory.
+	 * Dereferences the given URI and returns a local file containing the resulting
+	 * resource representation. The representation is retrieved through the
+	 * {@link UriContentCache}, an unchanged resource is not downloaded again. The
+	 * returned file is owned by the cache: it must be treated as read-only and may be
+	 * evicted later, callers keeping it beyond the current test should copy it.
 	 * @param uriRef An absolute URI specifying the location of some resource.
-	 * @return A File containing the content of the resource; it may be empty if
-	 * resolution failed for any reason.
-	 * @throws java.io.IOException If an IO error occurred.
+	 * @return A File containing the content of the resource.
+	 * @throws java.io.IOException If an IO error occurred or the resource could not be
+	 * retrieved.
 	 */
 	public static File dereferenceURI(URI uriRef) throws IOException {
 		if ((null == uriRef) || !uriRef.isAbsolute()) {
@@ -82,34 +73,7 @@ public final class URIUtils {
 		if (uriRef.getScheme().equalsIgnoreCase("file")) {
 			return new File(uriRef);
 		}
-		Client client = ClientBuilder.newClient(new ClientConfig());
-		WebTarget target = client.target(uriRef);
-		Builder builder = target.request();
-		Response rsp = builder.buildGet().invoke();
-		String suffix = null;
-		if (rsp.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE).toString().endsWith("xml")) {
-			suffix = ".xml";
-		}
-		File destFile = File.createTempFile("entity-", suffix);
-		if (rsp.hasEntity()) {
-			Object entity = rsp.getEntity();
-			if (!(entity instanceof InputStream)) {
-				return null;
-			}
-			InputStream is = (InputStream) entity;
-			OutputStream os = new FileOutputStream(destFile);
-			byte[] buffer = new byte[8 * 1024];
-			int bytesRead;
-			while ((bytesRead = is.read(buffer)) != -1) {
-				os.write(buffer, 0, bytesRead);
-			}
-			is.close();
-			os.flush();
-			os.close();
-		}
-		TestSuiteLogger.log(Level.FINE,
-				"Wrote " + destFile.length() + " bytes to file at " + destFile.getAbsolutePath());
-		return destFile;
+		return UriContentCache.get(uriRef);
 	}
 
 	/**
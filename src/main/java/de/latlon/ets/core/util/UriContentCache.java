@@ -0,0 +1,344 @@
+package de.latlon.ets.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Caches the representations of dereferenced URIs in local files. Cached entries are
+ * revalidated with a conditional GET request (If-None-Match, If-Modified-Since), so an
+ * unchanged resource is not downloaded again, neither within nor across test runs.
+ *
+ * The cache is configured by the following system properties:
+ * <ul>
+ * <li>{@value #CACHE_DIR_PROPERTY}: the cache directory (default: directory
+ * "ets-dgiwg-core-cache" in the default temporary file directory)</li>
+ * <li>{@value #MAX_SIZE_PROPERTY}: the maximum size of all cached entities in bytes;
+ * the least recently used entries are evicted first (default:
+ * {@value #DEFAULT_MAX_SIZE})</li>
+ * <li>{@value #BUFFER_SIZE_PROPERTY}: the number of bytes transferred per channel
+ * operation (default: {@value #DEFAULT_BUFFER_SIZE})</li>
+ * <li>{@value #MAX_ENTITY_SIZE_PROPERTY}: the maximum size of a single entity in bytes,
+ * 0 means unlimited (default: 0)</li>
+ * </ul>
+ *
+ * Files returned by {@link #get(URI)} belong to the cache and must not be modified. An
+ * entry is not evicted while it is retrieved or within {@value #EVICTION_GRACE_MILLIS} ms
+ * after its last retrieval, so a returned file remains available to be read right away;
+ * callers keeping a file longer should copy it.
+ */
+public final class UriContentCache {
+
+	/**
+	 * Name of the system property specifying the cache directory.
+	 */
+	public static final String CACHE_DIR_PROPERTY = "de.latlon.ets.core.http.cacheDir";
+
+	/**
+	 * Name of the system property specifying the maximum size of all cached entities in
+	 * bytes.
+	 */
+	public static final String MAX_SIZE_PROPERTY = "de.latlon.ets.core.http.cacheMaxSize";
+
+	/**
+	 * Name of the system property specifying the number of bytes transferred per channel
+	 * operation when an entity is downloaded.
+	 */
+	public static final String BUFFER_SIZE_PROPERTY = "de.latlon.ets.core.http.bufferSize";
+
+	/**
+	 * Name of the system property specifying the maximum size of a single entity in
+	 * bytes; the download is aborted if it is exceeded.
+	 */
+	public static final String MAX_ENTITY_SIZE_PROPERTY = "de.latlon.ets.core.http.maxEntitySize";
+
+	static final long DEFAULT_MAX_SIZE = 512L * 1024 * 1024;
+
+	static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	private static final String ENTITY_SUFFIX = ".entity";
+
+	private static final String XML_ENTITY_SUFFIX = ".xml";
+
+	private static final String METADATA_SUFFIX = ".properties";
+
+	private static final String PARTIAL_SUFFIX = ".part";
+
+	private static final long STALE_PARTIAL_AGE = TimeUnit.HOURS.toMillis(1);
+
+	static final long EVICTION_GRACE_MILLIS = 60000;
+
+	private static final ConcurrentMap<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+	private static Path cacheDir;
+
+	private UriContentCache() {
+	}
+
+	/**
+	 * Returns a local file containing the current representation of the given resource.
+	 * If the resource is already cached and the server confirms that it was not modified,
+	 * the cached file is returned without downloading the resource again. Only
+	 * successful (200) responses are cached.
+	 * @param uri An absolute http(s) URI, never <code>null</code>.
+	 * @return A File containing the content of the resource, never <code>null</code>.
+	 * @throws IOException if the resource cannot be retrieved or stored, e.g. if the
+	 * server responds with an error status
+	 */
+	public static File get(URI uri) throws IOException {
+		Path dir = getCacheDir();
+		String key = hash(uri.toString());
+		ReentrantLock lock = LOCKS.computeIfAbsent(key, k -> new ReentrantLock());
+		lock.lock();
+		try {
+			Path metadataFile = dir.resolve(key + METADATA_SUFFIX);
+			Properties metadata = readMetadata(metadataFile);
+			Path cachedEntity = null;
+			Map<String, Object> headers = new HashMap<>();
+			if (null != metadata) {
+				cachedEntity = dir.resolve(metadata.getProperty("file"));
+				if (Files.isRegularFile(cachedEntity)) {
+					if (metadata.containsKey("etag"))
+						headers.put("If-None-Match", metadata.getProperty("etag"));
+					if (metadata.containsKey("lastModified"))
+						headers.put("If-Modified-Since", metadata.getProperty("lastModified"));
+				}
+				else {
+					cachedEntity = null;
+				}
+			}
+			Path entity = cachedEntity;
+			Path result = HttpClientProvider.execute(uri, "GET", headers, rsp -> {
+				if (rsp.getStatus() == 304) {
+					if (null == entity || !Files.isRegularFile(entity))
+						return null;
+					TestSuiteLogger.log(Level.FINE, () -> "Not modified, using cached entity of " + uri);
+					return entity;
+				}
+				return store(uri, key, dir, rsp);
+			});
+			if (null == result) {
+				// the cached entity is gone, request the full representation
+				TestSuiteLogger.log(Level.FINE, () -> "Cached entity of " + uri + " is missing, retrieving it again");
+				result = HttpClientProvider.execute(uri, "GET", Collections.emptyMap(),
+						rsp -> store(uri, key, dir, rsp));
+			}
+			// the modification time tracks the last access for the LRU eviction
+			Files.setLastModifiedTime(result, FileTime.fromMillis(System.currentTimeMillis()));
+			return result.toFile();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all cached entries.
+	 * @throws IOException if the cache directory cannot be cleared
+	 */
+	public static void clear() throws IOException {
+		Path dir = getCacheDir();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Stores the entity of a 200 response, any other response is rejected.
+	 */
+	private static Path store(URI uri, String key, Path dir, Response rsp) throws IOException {
+		if (rsp.getStatus() != 200) {
+			throw new IOException("Could not retrieve " + uri + ", HTTP status " + rsp.getStatus());
+		}
+		String contentType = rsp.getHeaderString(HttpHeaders.CONTENT_TYPE);
+		String suffix = (null != contentType && contentType.endsWith("xml")) ? XML_ENTITY_SUFFIX : ENTITY_SUFFIX;
+		Path entity = dir.resolve(key + suffix);
+		Path partial = Files.createTempFile(dir, key, PARTIAL_SUFFIX);
+		try {
+			if (rsp.hasEntity()) {
+				transfer(uri, rsp.readEntity(InputStream.class), partial);
+			}
+			Files.move(partial, entity, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(partial);
+		}
+		String obsoleteSuffix = XML_ENTITY_SUFFIX.equals(suffix) ? ENTITY_SUFFIX : XML_ENTITY_SUFFIX;
+		Files.deleteIfExists(dir.resolve(key + obsoleteSuffix));
+		Properties metadata = new Properties();
+		metadata.setProperty("uri", uri.toString());
+		metadata.setProperty("file", entity.getFileName().toString());
+		String etag = rsp.getHeaderString(HttpHeaders.ETAG);
+		String lastModified = rsp.getHeaderString(HttpHeaders.LAST_MODIFIED);
+		if (null != etag)
+			metadata.setProperty("etag", etag);
+		if (null != lastModified)
+			metadata.setProperty("lastModified", lastModified);
+		try (Writer writer = Files.newBufferedWriter(dir.resolve(key + METADATA_SUFFIX), StandardCharsets.UTF_8)) {
+			metadata.store(writer, null);
+		}
+		TestSuiteLogger.log(Level.FINE, "Wrote " + Files.size(entity) + " bytes to file at " + entity);
+		evict(dir, entity);
+		return entity;
+	}
+
+	/**
+	 * Copies the entity stream to the given file using a FileChannel. The stream is
+	 * closed.
+	 */
+	private static void transfer(URI uri, InputStream entityStream, Path target) throws IOException {
+		int bufferSize = Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE);
+		long maxEntitySize = Long.getLong(MAX_ENTITY_SIZE_PROPERTY, 0);
+		long start = System.nanoTime();
+		long transferred = 0;
+		try (ReadableByteChannel in = Channels.newChannel(entityStream);
+				FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			long count;
+			while ((count = out.transferFrom(in, transferred, bufferSize)) > 0) {
+				transferred += count;
+				if (maxEntitySize > 0 && transferred > maxEntitySize) {
+					throw new IOException("Entity of " + uri + " exceeds the maximum size of " + maxEntitySize
+							+ " bytes.");
+				}
+			}
+		}
+		long nanos = Math.max(1, System.nanoTime() - start);
+		long bytes = transferred;
+		TestSuiteLogger.log(Level.FINE, () -> String.format("Transferred %d bytes from %s in %d ms (%.1f KB/s)", bytes,
+				uri, TimeUnit.NANOSECONDS.toMillis(nanos), bytes / 1024.0 / (nanos / 1e9)));
+	}
+
+	private static Properties readMetadata(Path metadataFile) {
+		if (!Files.isRegularFile(metadataFile))
+			return null;
+		Properties metadata = new Properties();
+		try (Reader reader = Files.newBufferedReader(metadataFile, StandardCharsets.UTF_8)) {
+			metadata.load(reader);
+		}
+		catch (IOException e) {
+			TestSuiteLogger.log(Level.WARNING, "Could not read cache metadata " + metadataFile, e);
+			return null;
+		}
+		return metadata.containsKey("file") ? metadata : null;
+	}
+
+	/**
+	 * Deletes the least recently used entities until the size of all entities is below
+	 * the configured maximum. The given entity, entries currently retrieved by another
+	 * thread and entries retrieved within the grace period are never deleted. The lock of
+	 * an entry is only tried, waiting for it could deadlock with another thread evicting
+	 * the entry of the caller.
+	 */
+	private static void evict(Path dir, Path keep) throws IOException {
+		long maxSize = Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+		List<Path> entities = new ArrayList<>();
+		long totalSize = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*{" + ENTITY_SUFFIX + ","
+				+ XML_ENTITY_SUFFIX + "}")) {
+			for (Path file : files) {
+				entities.add(file);
+				totalSize += Files.size(file);
+			}
+		}
+		if (totalSize <= maxSize)
+			return;
+		entities.sort((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()));
+		long graceStart = System.currentTimeMillis() - EVICTION_GRACE_MILLIS;
+		for (Path entity : entities) {
+			if (totalSize <= maxSize)
+				break;
+			if (entity.equals(keep))
+				continue;
+			String fileName = entity.getFileName().toString();
+			String key = fileName.substring(0, fileName.lastIndexOf('.'));
+			ReentrantLock lock = LOCKS.computeIfAbsent(key, k -> new ReentrantLock());
+			if (!lock.tryLock())
+				continue;
+			try {
+				long lastModified = entity.toFile().lastModified();
+				if (lastModified == 0 || lastModified > graceStart)
+					continue;
+				long size = Files.size(entity);
+				Files.deleteIfExists(dir.resolve(key + METADATA_SUFFIX));
+				Files.deleteIfExists(entity);
+				totalSize -= size;
+				TestSuiteLogger.log(Level.FINE, "Evicted cached entity " + entity);
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private static synchronized Path getCacheDir() throws IOException {
+		if (null == cacheDir) {
+			String configuredDir = System.getProperty(CACHE_DIR_PROPERTY);
+			Path dir = (null != configuredDir) ? Paths.get(configuredDir)
+					: Paths.get(System.getProperty("java.io.tmpdir"), "ets-dgiwg-core-cache");
+			Files.createDirectories(dir);
+			deleteStalePartialFiles(dir);
+			cacheDir = dir;
+		}
+		return cacheDir;
+	}
+
+	private static void deleteStalePartialFiles(Path dir) throws IOException {
+		long now = System.currentTimeMillis();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + PARTIAL_SUFFIX)) {
+			for (Path file : files) {
+				if (now - file.toFile().lastModified() > STALE_PARTIAL_AGE) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	private static String hash(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+			for (byte b : digest) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			// SHA-256 is supported by every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
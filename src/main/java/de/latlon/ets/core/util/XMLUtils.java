@@ -1,17 +1,32 @@
 package de.latlon.ets.core.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.events.XMLEvent;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
@@ -21,15 +36,18 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import net.sf.saxon.s9api.DocumentBuilder;
-import net.sf.saxon.s9api.Processor;
 import net.sf.saxon.s9api.SaxonApiException;
-import net.sf.saxon.s9api.XPathCompiler;
 import net.sf.saxon.s9api.XPathSelector;
 import net.sf.saxon.s9api.XdmNode;
 import net.sf.saxon.s9api.XdmValue;
@@ -41,9 +59,50 @@ public final class XMLUtils {
 
 	private static final Logger LOGR = Logger.getLogger(XMLUtils.class.getPackage().getName());
 
+	private static final XMLInputFactory STAX_FACTORY = createStaxFactory();
+
+	private static TransformerFactory transformerFactory;
+
+	private static final ThreadLocal<Map<OutputProfile, Transformer>> TRANSFORMERS = ThreadLocal
+		.withInitial(() -> new EnumMap<>(OutputProfile.class));
+
+	/**
+	 * Output properties of the identity transformers.
+	 */
+	private enum OutputProfile {
+
+		/** Indented, UTF-8 encoded, without XML declaration. */
+		INDENTED(true, false),
+
+		/** Like {@link #INDENTED}, the output method is "xml". */
+		INDENTED_XML(true, true),
+
+		/** The defaults of the transformer implementation. */
+		RAW(false, false);
+
+		private final Properties outputProperties = new Properties();
+
+		private OutputProfile(boolean indent, boolean xmlMethod) {
+			if (xmlMethod)
+				outputProperties.setProperty(OutputKeys.METHOD, "xml");
+			if (indent) {
+				outputProperties.setProperty(OutputKeys.ENCODING, "UTF-8");
+				outputProperties.setProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+				outputProperties.setProperty(OutputKeys.INDENT, "yes");
+			}
+		}
+
+	}
+
 	private XMLUtils() {
 	}
 
+	private static XMLInputFactory createStaxFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
 	/**
 	 * Writes the content of a DOM node to a String. An XML declaration is omitted.
 	 * @param node The node to be serialized.
@@ -55,13 +114,7 @@ public final class XMLUtils {
 		}
 		StringWriter writer = new StringWriter();
 		try {
-			Transformer idTransformer = TransformerFactory.newInstance().newTransformer();
-			Properties outProps = new Properties();
-			outProps.setProperty(OutputKeys.ENCODING, "UTF-8");
-			outProps.setProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-			outProps.setProperty(OutputKeys.INDENT, "yes");
-			idTransformer.setOutputProperties(outProps);
-			idTransformer.transform(new DOMSource(node), new StreamResult(writer));
+			transform(OutputProfile.INDENTED, new DOMSource(node), new StreamResult(writer));
 		}
 		catch (TransformerException ex) {
 			LOGR.log(Level.WARNING, "Failed to serialize DOM node: " + node.getNodeName(), ex);
@@ -69,6 +122,38 @@ public final class XMLUtils {
 		return writer.toString();
 	}
 
+	/**
+	 * Writes a short summary of a DOM node to a String: the node name, its depth in the
+	 * document tree, the number of child nodes and the leading part of its markup. In
+	 * contrast to {@link #writeNodeToString(Node)} only as much of the tree is visited as
+	 * is required to produce the summary.
+	 * @param node The node to be summarized, never <code>null</code>.
+	 * @param maxLength The maximum number of markup characters to include.
+	 * @return A String summarizing the given node, never <code>null</code>.
+	 */
+	public static String writeNodeSummary(Node node, int maxLength) {
+		if (null == node) {
+			throw new IllegalArgumentException("Supplied node is null.");
+		}
+		int depth = 0;
+		for (Node parent = node.getParentNode(); parent != null; parent = parent.getParentNode()) {
+			depth++;
+		}
+		StringBuilder markup = new StringBuilder();
+		boolean complete = appendMarkup(node, markup, maxLength);
+		StringBuilder summary = new StringBuilder();
+		summary.append(node.getNodeName());
+		summary.append(" (depth: ").append(depth);
+		summary.append(", children: ").append(node.getChildNodes().getLength()).append(")");
+		if (markup.length() > 0) {
+			summary.append('\n').append(markup);
+			if (!complete) {
+				summary.append("...");
+			}
+		}
+		return summary.toString();
+	}
+
 	/**
 	 * Writes the content of a DOM node to a byte stream. An XML declaration is omitted.
 	 * @param node The node to be serialized.
@@ -79,14 +164,7 @@ public final class XMLUtils {
 			throw new IllegalArgumentException("Supplied node is null.");
 		}
 		try {
-			Transformer idTransformer = TransformerFactory.newInstance().newTransformer();
-			Properties outProps = new Properties();
-			outProps.setProperty(OutputKeys.METHOD, "xml");
-			outProps.setProperty(OutputKeys.ENCODING, "UTF-8");
-			outProps.setProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-			outProps.setProperty(OutputKeys.INDENT, "yes");
-			idTransformer.setOutputProperties(outProps);
-			idTransformer.transform(new DOMSource(node), new StreamResult(outputStream));
+			transform(OutputProfile.INDENTED_XML, new DOMSource(node), new StreamResult(outputStream));
 		}
 		catch (TransformerException ex) {
 			String nodeName = (node.getNodeType() == Node.DOCUMENT_NODE)
@@ -97,9 +175,8 @@ public final class XMLUtils {
 
 	public static String transformToString(Source source) {
 		try {
-			Transformer transformer = TransformerFactory.newInstance().newTransformer();
 			StreamResult result = new StreamResult(new StringWriter());
-			transformer.transform(source, result);
+			transform(OutputProfile.RAW, source, result);
 			return result.getWriter().toString();
 		}
 		catch (TransformerException ex) {
@@ -109,7 +186,8 @@ public final class XMLUtils {
 	}
 
 	/**
-	 * Evaluates an XPath 2.0 expression using the Saxon s9api API.
+	 * Evaluates an XPath 2.0 expression using the Saxon s9api API. Compiled expressions
+	 * are cached by {@link XPath2ExecutableCache}.
 	 * @param xmlSource The XML Source.
 	 * @param expr The XPath expression to be evaluated.
 	 * @param nsBindings A collection of namespace bindings required to evaluate the XPath
@@ -123,15 +201,8 @@ public final class XMLUtils {
 	 */
 	public static XdmValue evaluateXPath2(Source xmlSource, String expr, Map<String, String> nsBindings)
 			throws SaxonApiException {
-		Processor proc = new Processor(false);
-		XPathCompiler compiler = proc.newXPathCompiler();
-		if (null != nsBindings) {
-			for (String nsURI : nsBindings.keySet()) {
-				compiler.declareNamespace(nsBindings.get(nsURI), nsURI);
-			}
-		}
-		XPathSelector xpath = compiler.compile(expr).load();
-		DocumentBuilder builder = proc.newDocumentBuilder();
+		XPathSelector xpath = XPath2ExecutableCache.compile(expr, nsBindings).load();
+		DocumentBuilder builder = XPath2ExecutableCache.getProcessor().newDocumentBuilder();
 		XdmNode node = null;
 		if (DOMSource.class.isInstance(xmlSource)) {
 			DOMSource domSource = (DOMSource) xmlSource;
@@ -140,34 +211,179 @@ public final class XMLUtils {
 		else {
 			node = builder.build(xmlSource);
 		}
+		long start = System.nanoTime();
 		xpath.setContextItem(node);
-		return xpath.evaluate();
+		XdmValue result = xpath.evaluate();
+		XPath2ExecutableCache.recordEvaluation(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Evaluates an XPath 2.0 expression against a parsed document using the Saxon s9api
+	 * API. The document is not parsed again.
+	 * @param document The parsed document, never <code>null</code>.
+	 * @param expr The XPath expression to be evaluated.
+	 * @param nsBindings A collection of namespace bindings required to evaluate the XPath
+	 * expression, where each entry maps a namespace URI (key) to a prefix (value); if the
+	 * prefix is an empty string, it declares the default namespace.
+	 * @return An XdmValue object representing a value in the XDM data model; this is a
+	 * sequence of zero or more items, where each item is either an atomic value or a
+	 * node.
+	 * @throws SaxonApiException If an error occurs while evaluating the expression; this
+	 * always wraps some other underlying exception.
+	 */
+	public static XdmValue evaluateXPath2(XdmDocument document, String expr, Map<String, String> nsBindings)
+			throws SaxonApiException {
+		XPathSelector xpath = XPath2ExecutableCache.compile(expr, nsBindings).load();
+		long start = System.nanoTime();
+		xpath.setContextItem(document.getNode());
+		XdmValue result = xpath.evaluate();
+		XPath2ExecutableCache.recordEvaluation(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * Counts the elements with the given name in an XML resource. A StreamSource or
+	 * StAXSource is read with a StAX cursor in constant memory; reading stops as soon as
+	 * the count exceeds the given limit. The reader of a StAXSource is left open. A
+	 * DOMSource is searched using the DOM, only the descendants of the node are counted.
+	 * @param xmlSource The XML Source (DOMSource, StreamSource or StAXSource), never
+	 * <code>null</code>.
+	 * @param elementName The qualified name of the element, never <code>null</code>.
+	 * @param limit The count after which reading stops, a negative value means
+	 * unlimited.
+	 * @return The number of elements found, at most <code>limit + 1</code> if a limit is
+	 * given.
+	 * @throws XMLStreamException If the resource cannot be read.
+	 * @throws IllegalArgumentException If the type of the Source is not supported.
+	 */
+	public static int countElements(Source xmlSource, QName elementName, int limit) throws XMLStreamException {
+		if (xmlSource instanceof DOMSource) {
+			return countElements(((DOMSource) xmlSource).getNode(), elementName);
+		}
+		if (xmlSource instanceof StAXSource) {
+			StAXSource staxSource = (StAXSource) xmlSource;
+			if (null != staxSource.getXMLStreamReader()) {
+				return countElements(staxSource.getXMLStreamReader(), elementName, limit);
+			}
+			return countElements(staxSource.getXMLEventReader(), elementName, limit);
+		}
+		if (xmlSource instanceof StreamSource) {
+			XMLStreamReader reader = STAX_FACTORY.createXMLStreamReader(xmlSource);
+			try {
+				return countElements(reader, elementName, limit);
+			}
+			finally {
+				reader.close();
+			}
+		}
+		throw new IllegalArgumentException("Unsupported Source type: " + xmlSource);
+	}
+
+	private static int countElements(Node node, QName elementName) {
+		String namespaceURI = elementName.getNamespaceURI().isEmpty() ? null : elementName.getNamespaceURI();
+		int count = 0;
+		NodeList children = node.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				Element element = (Element) child;
+				if (elementName.getLocalPart().equals(element.getLocalName())
+						&& elementName.getNamespaceURI().equals(nullToEmpty(element.getNamespaceURI()))) {
+					count++;
+				}
+				count += element.getElementsByTagNameNS(namespaceURI, elementName.getLocalPart()).getLength();
+			}
+		}
+		return count;
+	}
+
+	private static int countElements(XMLStreamReader reader, QName elementName, int limit)
+			throws XMLStreamException {
+		int count = 0;
+		while (reader.hasNext() && (limit < 0 || count <= limit)) {
+			if (reader.next() == XMLStreamConstants.START_ELEMENT
+					&& elementName.getLocalPart().equals(reader.getLocalName())
+					&& elementName.getNamespaceURI().equals(nullToEmpty(reader.getNamespaceURI()))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static int countElements(XMLEventReader reader, QName elementName, int limit) throws XMLStreamException {
+		int count = 0;
+		while (reader.hasNext() && (limit < 0 || count <= limit)) {
+			XMLEvent event = reader.nextEvent();
+			if (event.isStartElement() && elementName.equals(event.asStartElement().getName())) {
+				count++;
+			}
+		}
+		return count;
 	}
 
 	/**
 	 * Writes the result of a transformation to a String. An XML declaration is always
-	 * omitted.
+	 * omitted. A StreamResult is decoded as UTF-8.
 	 * @param result An object (DOMResult or StreamResult) that holds the result of a
 	 * transformation, which may be XML or plain text.
 	 * @return A String representing the content of the result; it may be empty if the
 	 * content could not be read.
 	 */
 	public static String resultToString(Result result) {
+		return resultToString(result, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the result of a transformation to a String. An XML declaration is always
+	 * omitted.
+	 * @param result An object (DOMResult or StreamResult) that holds the result of a
+	 * transformation, which may be XML or plain text.
+	 * @param charset The encoding of the content of a StreamResult, never
+	 * <code>null</code>.
+	 * @return A String representing the content of the result; it may be empty if the
+	 * content could not be read.
+	 */
+	public static String resultToString(Result result, Charset charset) {
+		StringWriter writer = new StringWriter();
+		writeResult(result, writer, charset);
+		return writer.toString();
+	}
+
+	/**
+	 * Writes the result of a transformation to the given writer without building an
+	 * intermediate String; combined with a {@link BoundedWriter} the size of the output
+	 * kept in memory is limited. An XML declaration is always omitted. A StreamResult is
+	 * decoded as UTF-8.
+	 * @param result An object (DOMResult or StreamResult) that holds the result of a
+	 * transformation, which may be XML or plain text.
+	 * @param writer The writer receiving the content of the result, never
+	 * <code>null</code>; it is not closed. Nothing is written if the content could not
+	 * be read.
+	 */
+	public static void writeResult(Result result, Writer writer) {
+		writeResult(result, writer, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the result of a transformation to the given writer without building an
+	 * intermediate String. The content of a StreamResult is decoded while it is copied.
+	 * @param result An object (DOMResult or StreamResult) that holds the result of a
+	 * transformation, which may be XML or plain text.
+	 * @param writer The writer receiving the content of the result, never
+	 * <code>null</code>; it is not closed. Nothing is written if the content could not
+	 * be read.
+	 * @param charset The encoding of the content of a StreamResult, never
+	 * <code>null</code>.
+	 */
+	public static void writeResult(Result result, Writer writer, Charset charset) {
 		if (null == result) {
 			throw new IllegalArgumentException("Result is null.");
 		}
-		StringWriter writer = new StringWriter();
 		if (result instanceof DOMResult) {
 			Node node = DOMResult.class.cast(result).getNode();
-			Properties outProps = new Properties();
-			outProps.setProperty(OutputKeys.ENCODING, "UTF-8");
-			outProps.setProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-			outProps.setProperty(OutputKeys.INDENT, "yes");
-			Transformer idTransformer;
 			try {
-				idTransformer = TransformerFactory.newInstance().newTransformer();
-				idTransformer.setOutputProperties(outProps);
-				idTransformer.transform(new DOMSource(node), new StreamResult(writer));
+				transform(OutputProfile.INDENTED, new DOMSource(node), new StreamResult(writer));
 			}
 			catch (TransformerFactoryConfigurationError | TransformerException e) {
 				LOGR.warning(e.getMessage());
@@ -175,25 +391,158 @@ public final class XMLUtils {
 		}
 		else if (result instanceof StreamResult) {
 			StreamResult streamResult = StreamResult.class.cast(result);
-			OutputStream os = streamResult.getOutputStream();
-			if (null != os) {
-				writer.write(os.toString()); // probably ByteArrayOutputStream
-			}
-			else { // try system id or writer
-				Path path = Paths.get(URI.create(streamResult.getSystemId()));
-				try {
-					byte[] data = Files.readAllBytes(path);
-					writer.write(new String(data));
+			try {
+				if (streamResult.getWriter() instanceof StringWriter) {
+					writer.append(((StringWriter) streamResult.getWriter()).getBuffer());
+					return;
 				}
-				catch (IOException e) {
-					LOGR.warning(e.getMessage());
+				try (Reader reader = new InputStreamReader(openResultStream(streamResult), charset)) {
+					char[] buffer = new char[8192];
+					int len;
+					while ((len = reader.read(buffer)) != -1) {
+						writer.write(buffer, 0, len);
+					}
 				}
 			}
+			catch (IOException e) {
+				LOGR.warning(e.getMessage());
+			}
 		}
 		else {
 			throw new IllegalArgumentException("Unsupported Result type:" + result.getClass());
 		}
-		return writer.toString();
+	}
+
+	/**
+	 * Opens the content written to a StreamResult for reading. The content is available
+	 * if it was written to a ByteArrayOutputStream or to a file denoted by the system id.
+	 * @param result The StreamResult, never <code>null</code>.
+	 * @return A stream providing the undecoded content, never <code>null</code>; it must
+	 * be closed by the caller.
+	 * @throws IOException if the content is not available
+	 */
+	public static InputStream openResultStream(StreamResult result) throws IOException {
+		OutputStream os = result.getOutputStream();
+		if (os instanceof ByteArrayOutputStream) {
+			return new ByteArrayInputStream(((ByteArrayOutputStream) os).toByteArray());
+		}
+		if (null == os && null != result.getSystemId()) {
+			return Files.newInputStream(Paths.get(URI.create(result.getSystemId())));
+		}
+		throw new IOException("Content of the StreamResult cannot be read: " + result.getSystemId());
+	}
+
+	/**
+	 * Removes the identity transformers held for the calling thread. Invoked by
+	 * {@link de.latlon.ets.core.AbstractTestNGController} after each test run, so the
+	 * threads of the servlet container do not keep classes of the test suite.
+	 */
+	public static void clearTransformers() {
+		TRANSFORMERS.remove();
+	}
+
+	/**
+	 * Copies the source to the result using an identity transformer of the calling
+	 * thread. Transformers are created once per thread and output profile since neither
+	 * creating the factory nor creating a transformer is cheap; a transformer that failed
+	 * is discarded.
+	 */
+	private static void transform(OutputProfile profile, Source source, Result result) throws TransformerException {
+		Map<OutputProfile, Transformer> transformers = TRANSFORMERS.get();
+		Transformer idTransformer = transformers.get(profile);
+		if (null == idTransformer) {
+			idTransformer = newIdentityTransformer();
+			idTransformer.setOutputProperties(profile.outputProperties);
+			transformers.put(profile, idTransformer);
+		}
+		try {
+			idTransformer.transform(source, result);
+		}
+		catch (TransformerException | RuntimeException e) {
+			transformers.remove(profile);
+			throw e;
+		}
+	}
+
+	private static synchronized Transformer newIdentityTransformer() throws TransformerException {
+		if (null == transformerFactory) {
+			transformerFactory = TransformerFactory.newInstance();
+		}
+		return transformerFactory.newTransformer();
+	}
+
+	private static String nullToEmpty(String value) {
+		return (null != value) ? value : "";
+	}
+
+	private static boolean appendMarkup(Node node, StringBuilder markup, int maxLength) {
+		switch (node.getNodeType()) {
+			case Node.DOCUMENT_NODE:
+			case Node.DOCUMENT_FRAGMENT_NODE:
+				return appendChildMarkup(node, markup, maxLength);
+			case Node.ELEMENT_NODE:
+				if (!append(markup, "<", maxLength) || !append(markup, node.getNodeName(), maxLength)) {
+					return false;
+				}
+				NamedNodeMap attributes = node.getAttributes();
+				for (int i = 0; i < attributes.getLength(); i++) {
+					if (!append(markup, " ", maxLength) || !appendAttribute(attributes.item(i), markup, maxLength)) {
+						return false;
+					}
+				}
+				return append(markup, ">", maxLength) && appendChildMarkup(node, markup, maxLength)
+						&& append(markup, "</", maxLength) && append(markup, node.getNodeName(), maxLength)
+						&& append(markup, ">", maxLength);
+			case Node.TEXT_NODE:
+			case Node.CDATA_SECTION_NODE:
+				String text = node.getNodeValue();
+				int begin = 0;
+				int end = text.length();
+				while (begin < end && text.charAt(begin) <= ' ') {
+					begin++;
+				}
+				while (end > begin && text.charAt(end - 1) <= ' ') {
+					end--;
+				}
+				return append(markup, text, begin, end, maxLength);
+			case Node.ATTRIBUTE_NODE:
+				return appendAttribute(node, markup, maxLength);
+			default:
+				return true;
+		}
+	}
+
+	private static boolean appendAttribute(Node attribute, StringBuilder markup, int maxLength) {
+		return append(markup, attribute.getNodeName(), maxLength) && append(markup, "=\"", maxLength)
+				&& append(markup, attribute.getNodeValue(), maxLength) && append(markup, "\"", maxLength);
+	}
+
+	private static boolean append(StringBuilder markup, String value, int maxLength) {
+		return append(markup, value, 0, value.length(), maxLength);
+	}
+
+	/**
+	 * Appends the given range of the value, but not more characters than are left until
+	 * maxLength is reached.
+	 * @return <code>true</code> if the range was appended completely, <code>false</code>
+	 * if it was truncated
+	 */
+	private static boolean append(StringBuilder markup, String value, int begin, int end, int maxLength) {
+		int remaining = Math.max(0, maxLength - markup.length());
+		if (end - begin > remaining) {
+			markup.append(value, begin, begin + remaining);
+			return false;
+		}
+		markup.append(value, begin, end);
+		return true;
+	}
+
+	private static boolean appendChildMarkup(Node node, StringBuilder markup, int maxLength) {
+		for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (!appendMarkup(child, markup, maxLength))
+				return false;
+		}
+		return true;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package de.latlon.ets.core.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XPathCompiler;
+import net.sf.saxon.s9api.XPathExecutable;
+
+/**
+ * Provides a shared Saxon {@link Processor} and caches compiled XPath 2.0 expressions.
+ * Compiled expressions are keyed by the expression text and the namespace bindings.
+ *
+ * Both the processor and the {@link XPathExecutable}s are thread-safe; a caller obtains
+ * its own {@link net.sf.saxon.s9api.XPathSelector} by invoking
+ * {@link XPathExecutable#load()}. The maximum number of cached expressions can be set
+ * using the system property {@value #CACHE_SIZE_PROPERTY} (default:
+ * {@value #DEFAULT_CACHE_SIZE}).
+ */
+public final class XPath2ExecutableCache {
+
+	/**
+	 * Name of the system property specifying the maximum number of compiled expressions.
+	 */
+	public static final String CACHE_SIZE_PROPERTY = "de.latlon.ets.core.xpath2.cacheSize";
+
+	static final int DEFAULT_CACHE_SIZE = 512;
+
+	private static final Processor PROCESSOR = new Processor(false);
+
+	private static final Map<ExpressionKey, XPathExecutable> EXECUTABLES = Collections
+		.synchronizedMap(new LruCache<>(Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE)));
+
+	private static final AtomicLong HITS = new AtomicLong();
+
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	private static final AtomicLong COMPILE_NANOS = new AtomicLong();
+
+	private static final AtomicLong EVALUATION_NANOS = new AtomicLong();
+
+	private XPath2ExecutableCache() {
+	}
+
+	/**
+	 * @return the shared processor, never <code>null</code>
+	 */
+	public static Processor getProcessor() {
+		return PROCESSOR;
+	}
+
+	/**
+	 * Returns a compiled form of the given XPath 2.0 expression.
+	 * @param expr The XPath expression to be compiled, never <code>null</code>.
+	 * @param nsBindings A collection of namespace bindings required to evaluate the XPath
+	 * expression, where each entry maps a namespace URI (key) to a prefix (value); if the
+	 * prefix is an empty string, it declares the default namespace. May be
+	 * <code>null</code>.
+	 * @return the compiled expression, never <code>null</code>
+	 * @throws SaxonApiException if the expression cannot be compiled
+	 */
+	public static XPathExecutable compile(String expr, Map<String, String> nsBindings) throws SaxonApiException {
+		ExpressionKey key = new ExpressionKey(expr, nsBindings);
+		XPathExecutable executable = EXECUTABLES.get(key);
+		if (null != executable) {
+			HITS.incrementAndGet();
+			return executable;
+		}
+		MISSES.incrementAndGet();
+		long start = System.nanoTime();
+		XPathCompiler compiler = PROCESSOR.newXPathCompiler();
+		for (Map.Entry<String, String> binding : key.getBindings().entrySet()) {
+			compiler.declareNamespace(binding.getValue(), binding.getKey());
+		}
+		executable = compiler.compile(expr);
+		COMPILE_NANOS.addAndGet(System.nanoTime() - start);
+		EXECUTABLES.put(key, executable);
+		return executable;
+	}
+
+	/**
+	 * @return the number of requests served from the cache since the last
+	 * {@link #resetStatistics()}
+	 */
+	public static long getHitCount() {
+		return HITS.get();
+	}
+
+	/**
+	 * @return the number of requests that required a compilation since the last
+	 * {@link #resetStatistics()}
+	 */
+	public static long getMissCount() {
+		return MISSES.get();
+	}
+
+	/**
+	 * @return the accumulated time spent compiling expressions in nanoseconds
+	 */
+	public static long getCompileTimeNanos() {
+		return COMPILE_NANOS.get();
+	}
+
+	/**
+	 * @return the accumulated time spent evaluating expressions in
+	 * {@link XMLUtils#evaluateXPath2} in nanoseconds
+	 */
+	public static long getEvaluationTimeNanos() {
+		return EVALUATION_NANOS.get();
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public static void resetStatistics() {
+		HITS.set(0);
+		MISSES.set(0);
+		COMPILE_NANOS.set(0);
+		EVALUATION_NANOS.set(0);
+	}
+
+	/**
+	 * Removes all compiled expressions.
+	 */
+	public static void clear() {
+		EXECUTABLES.clear();
+	}
+
+	static void recordEvaluation(long nanos) {
+		EVALUATION_NANOS.addAndGet(nanos);
+	}
+
+}
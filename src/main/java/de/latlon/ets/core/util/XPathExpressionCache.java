@@ -0,0 +1,126 @@
+package de.latlon.ets.core.util;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathFactoryConfigurationException;
+
+/**
+ * Caches compiled XPath 1.0 expressions for the W3C DOM object model. Compiled
+ * expressions are keyed by the expression text and the content of the namespace
+ * bindings.
+ *
+ * Neither {@link XPathFactory} nor {@link XPathExpression} is thread-safe, so each
+ * thread keeps its own factory and its own bounded set of compiled expressions. The
+ * maximum number of expressions per thread can be set using the system property
+ * {@value #CACHE_SIZE_PROPERTY} (default: {@value #DEFAULT_CACHE_SIZE}).
+ */
+public final class XPathExpressionCache {
+
+	/**
+	 * Name of the system property specifying the maximum number of compiled expressions
+	 * per thread.
+	 */
+	public static final String CACHE_SIZE_PROPERTY = "de.latlon.ets.core.xpath.cacheSize";
+
+	static final int DEFAULT_CACHE_SIZE = 512;
+
+	private static final int CACHE_SIZE = Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+
+	private static final ThreadLocal<XPathFactory> FACTORY = ThreadLocal
+		.withInitial(XPathExpressionCache::createFactory);
+
+	private static final ThreadLocal<Map<ExpressionKey, XPathExpression>> EXPRESSIONS = ThreadLocal
+		.withInitial(() -> new LruCache<>(CACHE_SIZE));
+
+	private static final NamespaceBindings NO_BINDINGS = new NamespaceBindings().freeze();
+
+	private static final AtomicLong HITS = new AtomicLong();
+
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	private XPathExpressionCache() {
+	}
+
+	/**
+	 * Returns a compiled form of the given XPath 1.0 expression. The returned expression
+	 * must only be used by the calling thread.
+	 * @param expr A valid XPath 1.0 expression, never <code>null</code>.
+	 * @param nsBindings A collection of namespace bindings for the XPath expression, may
+	 * be <code>null</code> if the expression does not contain any prefixes.
+	 * @return the compiled expression, never <code>null</code>
+	 * @throws XPathExpressionException if the expression cannot be compiled
+	 */
+	public static XPathExpression compile(String expr, NamespaceBindings nsBindings)
+			throws XPathExpressionException {
+		if (null == expr) {
+			throw new IllegalArgumentException("XPath expression is null.");
+		}
+		NamespaceBindings bindings = (null != nsBindings) ? nsBindings : NO_BINDINGS;
+		Map<ExpressionKey, XPathExpression> expressions = EXPRESSIONS.get();
+		XPathExpression compiled = expressions.get(ExpressionKey.lookup(expr, bindings));
+		if (null != compiled) {
+			HITS.incrementAndGet();
+			return compiled;
+		}
+		MISSES.incrementAndGet();
+		// key and compile with a snapshot, later modifications of the passed bindings must
+		// neither change the hash of a cached key nor affect the cached expression
+		NamespaceBindings snapshot = bindings.freeze();
+		XPath xpath = FACTORY.get().newXPath();
+		xpath.setNamespaceContext(snapshot);
+		compiled = xpath.compile(expr);
+		expressions.put(new ExpressionKey(expr, snapshot), compiled);
+		return compiled;
+	}
+
+	/**
+	 * @return the number of requests served from the cache since the last
+	 * {@link #resetStatistics()}
+	 */
+	public static long getHitCount() {
+		return HITS.get();
+	}
+
+	/**
+	 * @return the number of requests that required a compilation since the last
+	 * {@link #resetStatistics()}
+	 */
+	public static long getMissCount() {
+		return MISSES.get();
+	}
+
+	/**
+	 * Resets the hit and miss counters.
+	 */
+	public static void resetStatistics() {
+		HITS.set(0);
+		MISSES.set(0);
+	}
+
+	/**
+	 * Removes all compiled expressions and the XPath factory held for the calling thread.
+	 * Invoked by {@link de.latlon.ets.core.AbstractTestNGController} after each test run,
+	 * so the threads of the servlet container do not keep classes of the test suite.
+	 */
+	public static void clear() {
+		EXPRESSIONS.remove();
+		FACTORY.remove();
+	}
+
+	private static XPathFactory createFactory() {
+		try {
+			return XPathFactory.newInstance(XPathConstants.DOM_OBJECT_MODEL);
+		}
+		catch (XPathFactoryConfigurationException e) {
+			// An implementation for the W3C DOM is always available
+			throw new RuntimeException(e);
+		}
+	}
+
+}
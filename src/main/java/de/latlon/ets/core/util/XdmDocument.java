@@ -0,0 +1,212 @@
+package de.latlon.ets.core.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+
+import org.w3c.dom.Document;
+
+import net.sf.saxon.om.TreeInfo;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.tree.tiny.TinyTree;
+
+/**
+ * A parsed XML document that can be queried repeatedly with XPath 2.0 expressions without
+ * parsing it again. The document is built once into the Saxon default tree model
+ * (TinyTree) using the shared processor of {@link XPath2ExecutableCache}; DOM documents
+ * are copied as well instead of being wrapped.
+ *
+ * Open documents are tracked by weak references, so a document that is neither closed
+ * nor released by a listener is still reclaimed by the garbage collector. The number of
+ * nodes retained by open documents can be retrieved by {@link #getOpenNodeCount()}. A
+ * document is released by {@link #close()}; documents created for a test class are
+ * released by the {@link XdmDocumentReleaseListener} when the test class finishes.
+ */
+public final class XdmDocument implements AutoCloseable {
+
+	private static final Set<Tracker> OPEN_DOCUMENTS = ConcurrentHashMap.newKeySet();
+
+	private static final ReferenceQueue<XdmDocument> RECLAIMED = new ReferenceQueue<>();
+
+	private static final AtomicLong OPEN_NODES = new AtomicLong();
+
+	private final Tracker tracker;
+
+	private final long nodeCount;
+
+	private volatile XdmNode node;
+
+	private XdmDocument(XdmNode node, long nodeCount, Class<?> owner) {
+		this.node = node;
+		this.nodeCount = nodeCount;
+		this.tracker = new Tracker(this, owner);
+	}
+
+	/**
+	 * Parses the given XML source.
+	 * @param xmlSource The XML Source, never <code>null</code>.
+	 * @return the parsed document, never <code>null</code>
+	 * @throws SaxonApiException if the source cannot be parsed
+	 */
+	public static XdmDocument build(Source xmlSource) throws SaxonApiException {
+		return build(xmlSource, null);
+	}
+
+	/**
+	 * Parses the given XML source. The document is released when the given test class
+	 * finishes if the {@link XdmDocumentReleaseListener} is registered.
+	 * @param xmlSource The XML Source, never <code>null</code>.
+	 * @param owner The test class using the document, may be <code>null</code>.
+	 * @return the parsed document, never <code>null</code>
+	 * @throws SaxonApiException if the source cannot be parsed
+	 */
+	public static XdmDocument build(Source xmlSource, Class<?> owner) throws SaxonApiException {
+		if (null == xmlSource) {
+			throw new IllegalArgumentException("Source is null.");
+		}
+		expungeReclaimed();
+		XdmNode node = XPath2ExecutableCache.getProcessor().newDocumentBuilder().build(xmlSource);
+		XdmDocument document = new XdmDocument(node, countNodes(node), owner);
+		OPEN_DOCUMENTS.add(document.tracker);
+		OPEN_NODES.addAndGet(document.nodeCount);
+		TestSuiteLogger.log(Level.FINE, () -> "Built XDM document with " + document.nodeCount + " nodes from "
+				+ xmlSource.getSystemId());
+		return document;
+	}
+
+	/**
+	 * Copies the given DOM document.
+	 * @param document The DOM Document, never <code>null</code>.
+	 * @param owner The test class using the document, may be <code>null</code>.
+	 * @return the parsed document, never <code>null</code>
+	 * @throws SaxonApiException if the document cannot be copied
+	 */
+	public static XdmDocument build(Document document, Class<?> owner) throws SaxonApiException {
+		if (null == document) {
+			throw new IllegalArgumentException("Document is null.");
+		}
+		return build(new DOMSource(document, document.getDocumentURI()), owner);
+	}
+
+	/**
+	 * @return the document node, never <code>null</code>
+	 * @throws IllegalStateException if the document is already closed
+	 */
+	public XdmNode getNode() {
+		XdmNode current = node;
+		if (null == current) {
+			throw new IllegalStateException("XDM document is already closed.");
+		}
+		return current;
+	}
+
+	/**
+	 * @return the number of nodes (including attributes) of this document, 0 if the
+	 * document was not built into a TinyTree
+	 */
+	public long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return <code>true</code> if the document was released, <code>false</code>
+	 * otherwise
+	 */
+	public boolean isClosed() {
+		return null == node;
+	}
+
+	/**
+	 * Releases the document. Calling this method more than once has no effect.
+	 */
+	@Override
+	public void close() {
+		node = null;
+		tracker.release();
+	}
+
+	/**
+	 * Releases all documents built for the given test class.
+	 * @param owner The test class, never <code>null</code>.
+	 */
+	public static void closeAll(Class<?> owner) {
+		expungeReclaimed();
+		for (Tracker tracker : OPEN_DOCUMENTS) {
+			if (owner.equals(tracker.owner)) {
+				XdmDocument document = tracker.get();
+				if (null != document)
+					document.close();
+				else
+					tracker.release();
+			}
+		}
+	}
+
+	/**
+	 * @return the number of documents not released yet
+	 */
+	public static int getOpenDocumentCount() {
+		expungeReclaimed();
+		return OPEN_DOCUMENTS.size();
+	}
+
+	/**
+	 * @return the number of nodes retained by documents not released yet
+	 */
+	public static long getOpenNodeCount() {
+		expungeReclaimed();
+		return OPEN_NODES.get();
+	}
+
+	/**
+	 * Takes the size from the tree instead of walking it.
+	 */
+	private static long countNodes(XdmNode node) {
+		TreeInfo tree = node.getUnderlyingNode().getTreeInfo();
+		if (tree instanceof TinyTree) {
+			TinyTree tinyTree = (TinyTree) tree;
+			return (long) tinyTree.getNumberOfNodes() + tinyTree.getNumberOfAttributes();
+		}
+		return 0;
+	}
+
+	private static void expungeReclaimed() {
+		Reference<? extends XdmDocument> reclaimed;
+		while ((reclaimed = RECLAIMED.poll()) != null) {
+			((Tracker) reclaimed).release();
+		}
+	}
+
+	/**
+	 * Keeps the bookkeeping of a document, it does not prevent the document from being
+	 * reclaimed.
+	 */
+	private static final class Tracker extends WeakReference<XdmDocument> {
+
+		private final Class<?> owner;
+
+		private final long nodeCount;
+
+		private Tracker(XdmDocument document, Class<?> owner) {
+			super(document, RECLAIMED);
+			this.owner = owner;
+			this.nodeCount = document.nodeCount;
+		}
+
+		private void release() {
+			if (OPEN_DOCUMENTS.remove(this)) {
+				OPEN_NODES.addAndGet(-nodeCount);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,21 @@
+package de.latlon.ets.core.util;
+
+import org.testng.IClassListener;
+import org.testng.ITestClass;
+
+/**
+ * Releases the {@link XdmDocument}s built for a test class as soon as the test class
+ * finishes. Register this listener in the TestNG suite configuration.
+ */
+public class XdmDocumentReleaseListener implements IClassListener {
+
+	@Override
+	public void onBeforeClass(ITestClass testClass) {
+	}
+
+	@Override
+	public void onAfterClass(ITestClass testClass) {
+		XdmDocument.closeAll(testClass.getRealClass());
+	}
+
+}
@@ -4,15 +4,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.logging.Level;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+import de.latlon.ets.core.util.ParserPool;
+import de.latlon.ets.core.util.ParserProfile;
 import de.latlon.ets.core.util.TestSuiteLogger;
 import jakarta.xml.soap.MessageFactory;
 import jakarta.xml.soap.SOAPConstants;
@@ -38,15 +37,9 @@ public final class SoapUtils {
 	public static Source readPayloadFromFile(InputStream resourceAsStream) {
 		if (resourceAsStream == null)
 			throw new IllegalArgumentException("InputStream must not be null");
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
 		Document document = null;
 		try {
-			DocumentBuilder builder;
-			builder = factory.newDocumentBuilder();
-			document = builder.parse(resourceAsStream);
-		}
-		catch (ParserConfigurationException e) {
-			TestSuiteLogger.log(Level.SEVERE, "Failed to parse document", e);
+			document = ParserPool.parse(resourceAsStream, ParserProfile.DEFAULT);
 		}
 		catch (SAXException | IOException e) {
 			TestSuiteLogger.log(Level.SEVERE, "Failed to read from stream", e);
@@ -0,0 +1,113 @@
+package de.latlon.ets.core.validation;
+
+import org.opengis.cite.validation.ValidationErrorHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import de.latlon.ets.core.error.FailureReport;
+
+/**
+ * Forwards all validation events to a {@link ValidationErrorHandler} or a
+ * {@link FailureReport} and aborts the validation by throwing a {@link SAXException} as
+ * soon as the given number of errors has been reported.
+ */
+public class ErrorLimitHandler implements ErrorHandler {
+
+	private final ValidationErrorHandler delegate;
+
+	private final FailureReport report;
+
+	private final int maxErrors;
+
+	private int errorCount;
+
+	private int fatalErrorCount;
+
+	/**
+	 * @param delegate the handler collecting the validation events, never
+	 * <code>null</code>
+	 * @param maxErrors the number of errors after which the validation is aborted, 0 or
+	 * less means unlimited
+	 */
+	public ErrorLimitHandler(ValidationErrorHandler delegate, int maxErrors) {
+		if (null == delegate) {
+			throw new IllegalArgumentException("Delegate must not be null.");
+		}
+		this.delegate = delegate;
+		this.report = null;
+		this.maxErrors = maxErrors;
+	}
+
+	/**
+	 * Writes all validation events to the given report instead of keeping them in memory.
+	 * Each event is formatted the way {@link ValidationErrorHandler#toString()} formats
+	 * it, so the report reads the same as the collected events.
+	 * @param report the report receiving the validation events, never <code>null</code>
+	 * @param maxErrors the number of errors after which the validation is aborted, 0 or
+	 * less means unlimited
+	 */
+	public ErrorLimitHandler(FailureReport report, int maxErrors) {
+		if (null == report) {
+			throw new IllegalArgumentException("Report must not be null.");
+		}
+		this.delegate = new ValidationErrorHandler();
+		this.report = report;
+		this.maxErrors = maxErrors;
+	}
+
+	@Override
+	public void warning(SAXParseException exception) throws SAXException {
+		delegate.warning(exception);
+		writeToReport();
+	}
+
+	@Override
+	public void error(SAXParseException exception) throws SAXException {
+		delegate.error(exception);
+		writeToReport();
+		errorCount++;
+		if (isLimitReached()) {
+			throw new SAXException("Validation aborted after " + errorCount + " errors.");
+		}
+	}
+
+	@Override
+	public void fatalError(SAXParseException exception) throws SAXException {
+		delegate.fatalError(exception);
+		writeToReport();
+		fatalErrorCount++;
+	}
+
+	/**
+	 * @return the number of errors and fatal errors reported so far
+	 */
+	public int getErrorCount() {
+		return errorCount + fatalErrorCount;
+	}
+
+	/**
+	 * @return <code>true</code> if the maximum number of errors was reported,
+	 * <code>false</code> otherwise
+	 */
+	public boolean isLimitReached() {
+		return maxErrors > 0 && errorCount >= maxErrors;
+	}
+
+	/**
+	 * Moves the event collected by the delegate to the report, so the delegate never
+	 * holds more than one event.
+	 */
+	private void writeToReport() {
+		if (null == report)
+			return;
+		String entry = delegate.toString();
+		int end = entry.length();
+		while (end > 0 && entry.charAt(end - 1) == '\n') {
+			end--;
+		}
+		report.addEntry(entry.substring(0, end));
+		delegate.reset();
+	}
+
+}
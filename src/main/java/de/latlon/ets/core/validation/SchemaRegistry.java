@@ -0,0 +1,139 @@
+package de.latlon.ets.core.validation;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.xml.sax.SAXException;
+
+import de.latlon.ets.core.util.TestSuiteLogger;
+
+/**
+ * Compiles W3C XML Schema sets once per JVM and shares the resulting {@link Schema}
+ * objects across test runs. Schemas are keyed by the set of schema locations; a
+ * {@link ValidatorPool} is maintained for each compiled schema.
+ *
+ * The maximum number of idle validators per schema can be set using the system property
+ * {@value #POOL_SIZE_PROPERTY} (default: {@value #DEFAULT_POOL_SIZE}).
+ */
+public final class SchemaRegistry {
+
+	/**
+	 * Name of the system property specifying the maximum number of idle validators per
+	 * schema.
+	 */
+	public static final String POOL_SIZE_PROPERTY = "de.latlon.ets.core.validation.validatorPoolSize";
+
+	static final int DEFAULT_POOL_SIZE = 8;
+
+	private static final ConcurrentMap<Set<String>, FutureTask<Schema>> SCHEMAS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<Schema, ValidatorPool> POOLS = new ConcurrentHashMap<>();
+
+	private SchemaRegistry() {
+	}
+
+	/**
+	 * Returns the schema composed of the given schema locations. The schema is compiled
+	 * on first access only; concurrent requests for the same schema locations wait for
+	 * the compilation in progress.
+	 * @param schemaLocations the locations of the schema documents, never
+	 * <code>null</code> or empty
+	 * @return the compiled schema, never <code>null</code>
+	 * @throws SAXException if the schema cannot be compiled
+	 */
+	public static Schema getSchema(URL... schemaLocations) throws SAXException {
+		return getSchema(Arrays.asList(schemaLocations));
+	}
+
+	/**
+	 * Returns the schema composed of the given schema locations. The schema is compiled
+	 * on first access only; concurrent requests for the same schema locations wait for
+	 * the compilation in progress.
+	 * @param schemaLocations the locations of the schema documents, never
+	 * <code>null</code> or empty
+	 * @return the compiled schema, never <code>null</code>
+	 * @throws SAXException if the schema cannot be compiled
+	 */
+	public static Schema getSchema(Collection<URL> schemaLocations) throws SAXException {
+		if (null == schemaLocations || schemaLocations.isEmpty()) {
+			throw new IllegalArgumentException("At least one schema location is required.");
+		}
+		Set<String> key = new TreeSet<>();
+		for (URL schemaLocation : schemaLocations) {
+			key.add(schemaLocation.toString());
+		}
+		FutureTask<Schema> task = new FutureTask<>(() -> compile(key));
+		FutureTask<Schema> existing = SCHEMAS.putIfAbsent(key, task);
+		if (null == existing) {
+			existing = task;
+			task.run();
+		}
+		try {
+			return existing.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SAXException("Interrupted while waiting for schema " + key, e);
+		}
+		catch (ExecutionException e) {
+			// do not keep the failure, next request tries again
+			SCHEMAS.remove(key, existing);
+			Throwable cause = e.getCause();
+			if (cause instanceof SAXException) {
+				throw (SAXException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw (Error) cause;
+		}
+	}
+
+	/**
+	 * Returns the validator pool of a schema obtained from this registry.
+	 * @param schema the schema, never <code>null</code>
+	 * @return the validator pool, or <code>null</code> if the schema was not compiled by
+	 * this registry
+	 */
+	public static ValidatorPool getValidatorPool(Schema schema) {
+		return POOLS.get(schema);
+	}
+
+	/**
+	 * Removes all schemas and validator pools.
+	 */
+	public static void clear() {
+		SCHEMAS.clear();
+		POOLS.clear();
+	}
+
+	private static Schema compile(Set<String> schemaLocations) throws SAXException {
+		long start = System.currentTimeMillis();
+		Source[] sources = new Source[schemaLocations.size()];
+		int i = 0;
+		for (String schemaLocation : schemaLocations) {
+			sources[i++] = new StreamSource(schemaLocation);
+		}
+		SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		Schema schema = factory.newSchema(sources);
+		POOLS.put(schema, new ValidatorPool(schema, Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE)));
+		TestSuiteLogger.log(Level.INFO, "Compiled schema " + schemaLocations + " in "
+				+ (System.currentTimeMillis() - start) + " ms");
+		return schema;
+	}
+
+}
@@ -0,0 +1,56 @@
+package de.latlon.ets.core.validation;
+
+import javax.xml.transform.Result;
+
+/**
+ * The outcome of a Schematron validation: the validation report and the number of rule
+ * violations.
+ */
+public final class SchematronResult {
+
+	private final Result result;
+
+	private final int ruleViolationCount;
+
+	private final int failedAssertCount;
+
+	SchematronResult(Result result, int ruleViolationCount) {
+		this(result, ruleViolationCount, -1);
+	}
+
+	SchematronResult(Result result, int ruleViolationCount, int failedAssertCount) {
+		this.result = result;
+		this.ruleViolationCount = ruleViolationCount;
+		this.failedAssertCount = failedAssertCount;
+	}
+
+	/**
+	 * @return the validation report, never <code>null</code>
+	 */
+	public Result getResult() {
+		return result;
+	}
+
+	/**
+	 * @return <code>true</code> if at least one rule violation was detected,
+	 * <code>false</code> otherwise
+	 */
+	public boolean ruleViolationsDetected() {
+		return ruleViolationCount > 0;
+	}
+
+	/**
+	 * @return the number of rule violations, i.e. failed asserts and successful reports
+	 */
+	public int getRuleViolationCount() {
+		return ruleViolationCount;
+	}
+
+	/**
+	 * @return the number of failed asserts, -1 if the validation report was not read
+	 */
+	public int getFailedAssertCount() {
+		return failedAssertCount;
+	}
+
+}
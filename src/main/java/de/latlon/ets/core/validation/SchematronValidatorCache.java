@@ -0,0 +1,199 @@
+package de.latlon.ets.core.validation;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
+import org.opengis.cite.validation.SchematronValidator;
+
+import de.latlon.ets.core.util.TestSuiteLogger;
+
+/**
+ * Caches compiled {@link SchematronValidator}s keyed by schema location and phase. The
+ * Schematron schema is fetched and compiled on first access, concurrent requests wait
+ * for this compilation.
+ *
+ * A SchematronValidator keeps the state of the last validation and must not be used by
+ * several threads at the same time. Thus the validators of a schema are pooled the way
+ * {@link ValidatorPool} pools XML schema validators: a validation borrows an idle
+ * validator or compiles an additional one if all are in use, and returns it afterwards.
+ *
+ * The maximum number of idle validators per schema and phase can be set using the system
+ * property {@value #POOL_SIZE_PROPERTY} (default: {@value #DEFAULT_POOL_SIZE}).
+ */
+public final class SchematronValidatorCache {
+
+	/**
+	 * The phase checking all patterns.
+	 */
+	public static final String ALL_PHASES = "#ALL";
+
+	/**
+	 * Name of the system property specifying the maximum number of idle validators per
+	 * Schematron schema and phase.
+	 */
+	public static final String POOL_SIZE_PROPERTY = "de.latlon.ets.core.validation.schematronPoolSize";
+
+	static final int DEFAULT_POOL_SIZE = 8;
+
+	private static final ConcurrentMap<String, FutureTask<Boolean>> COMPILATIONS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<String, BlockingQueue<SchematronValidator>> IDLE_VALIDATORS =
+			new ConcurrentHashMap<>();
+
+	private SchematronValidatorCache() {
+	}
+
+	/**
+	 * Compiles the given Schematron schema and phase unless a validator is already
+	 * cached.
+	 * @param schemaRef A URL that denotes the location of a Schematron schema, never
+	 * <code>null</code>.
+	 * @param phase The phase to check, never <code>null</code>.
+	 * @throws Exception if the Schematron schema cannot be processed
+	 */
+	public static void preload(URL schemaRef, String phase) throws Exception {
+		release(schemaRef, phase, getValidator(schemaRef, phase));
+	}
+
+	/**
+	 * Borrows a validator for the given Schematron schema and phase. An idle validator is
+	 * returned if available, otherwise a new one is compiled. The first compilation is
+	 * shared by concurrent requests. The validator must be used by the calling thread
+	 * only and should be passed to {@link #release(URL, String, SchematronValidator)}
+	 * after use.
+	 * @param schemaRef A URL that denotes the location of a Schematron schema, never
+	 * <code>null</code>.
+	 * @param phase The phase to check, never <code>null</code>.
+	 * @return the validator, never <code>null</code>
+	 * @throws Exception if the Schematron schema cannot be processed
+	 */
+	public static SchematronValidator getValidator(URL schemaRef, String phase) throws Exception {
+		String key = schemaRef + phase;
+		BlockingQueue<SchematronValidator> idleValidators = IDLE_VALIDATORS.computeIfAbsent(key,
+				k -> new ArrayBlockingQueue<>(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE)));
+		awaitFirstCompilation(key, () -> idleValidators.offer(compile(schemaRef, phase)));
+		SchematronValidator validator = idleValidators.poll();
+		return (null != validator) ? validator : compile(schemaRef, phase);
+	}
+
+	/**
+	 * Returns a validator obtained by {@link #getValidator(URL, String)} to the cache. It
+	 * is discarded if the cache already holds the maximum number of idle validators.
+	 * @param schemaRef A URL that denotes the location of the Schematron schema, never
+	 * <code>null</code>.
+	 * @param phase The phase of the validator, never <code>null</code>.
+	 * @param validator The validator, may be <code>null</code>.
+	 */
+	public static void release(URL schemaRef, String phase, SchematronValidator validator) {
+		BlockingQueue<SchematronValidator> idleValidators = IDLE_VALIDATORS.get(schemaRef + phase);
+		if (null != validator && null != idleValidators) {
+			idleValidators.offer(validator);
+		}
+	}
+
+	/**
+	 * Validates an XML resource against the given Schematron schema and phase.
+	 * Validations against the same schema run concurrently, each using its own validator.
+	 * @param schemaRef A URL that denotes the location of a Schematron schema, never
+	 * <code>null</code>.
+	 * @param phase The phase to check, never <code>null</code>.
+	 * @param xmlSource The XML Source to be validated, never <code>null</code>.
+	 * @return the outcome of the validation, never <code>null</code>
+	 * @throws Exception if the Schematron schema cannot be processed
+	 */
+	public static SchematronResult validate(URL schemaRef, String phase, Source xmlSource) throws Exception {
+		SchematronValidator validator = getValidator(schemaRef, phase);
+		try {
+			Result result = validator.validate(xmlSource);
+			return new SchematronResult(result, validator.getRuleViolationCount());
+		}
+		finally {
+			release(schemaRef, phase, validator);
+		}
+	}
+
+	/**
+	 * Validates an XML resource against the given Schematron schema and phase and passes
+	 * the failed asserts and successful reports to the listener one at a time. No further
+	 * assertions are passed once the given number of failed asserts was passed, so the
+	 * listener does not need to keep more than this number of violations. The remaining
+	 * failed asserts are only counted, see
+	 * {@link SchematronResult#getFailedAssertCount()}.
+	 * @param schemaRef A URL that denotes the location of a Schematron schema, never
+	 * <code>null</code>.
+	 * @param phase The phase to check, never <code>null</code>.
+	 * @param xmlSource The XML Source to be validated, never <code>null</code>.
+	 * @param listener Receives the assertions, never <code>null</code>.
+	 * @param maxViolations The number of failed asserts after which no further
+	 * assertions are passed, 0 or less means unlimited.
+	 * @return the outcome of the validation, never <code>null</code>
+	 * @throws Exception if the Schematron schema cannot be processed or the report
+	 * cannot be read
+	 */
+	public static SchematronResult validate(URL schemaRef, String phase, Source xmlSource, SvrlListener listener,
+			int maxViolations) throws Exception {
+		SchematronResult result = validate(schemaRef, phase, xmlSource);
+		int violations = 0;
+		try (SvrlReader reader = SvrlReader.open(result.getResult(), StandardCharsets.UTF_8, true)) {
+			while (reader.hasNext()) {
+				SvrlAssertion assertion = reader.next();
+				boolean limitReached = maxViolations > 0 && violations >= maxViolations;
+				if (assertion.getKind() == SvrlAssertion.Kind.FAILED_ASSERT)
+					violations++;
+				if (!limitReached)
+					listener.assertionReported(assertion);
+			}
+		}
+		return new SchematronResult(result.getResult(), result.getRuleViolationCount(), violations);
+	}
+
+	/**
+	 * Removes all cached validators.
+	 */
+	public static void clear() {
+		COMPILATIONS.clear();
+		IDLE_VALIDATORS.clear();
+	}
+
+	private static void awaitFirstCompilation(String key, Callable<Boolean> compilation) throws Exception {
+		FutureTask<Boolean> task = new FutureTask<>(compilation);
+		FutureTask<Boolean> existing = COMPILATIONS.putIfAbsent(key, task);
+		if (null == existing) {
+			existing = task;
+			task.run();
+		}
+		try {
+			existing.get();
+		}
+		catch (ExecutionException e) {
+			// do not keep the failure, next request tries again
+			COMPILATIONS.remove(key, existing);
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw (Error) cause;
+		}
+	}
+
+	private static SchematronValidator compile(URL schemaRef, String phase) throws Exception {
+		long start = System.currentTimeMillis();
+		SchematronValidator validator = new SchematronValidator(new StreamSource(schemaRef.toString()), phase);
+		TestSuiteLogger.log(Level.INFO, "Compiled Schematron schema " + schemaRef + " (phase " + phase + ") in "
+				+ (System.currentTimeMillis() - start) + " ms");
+		return validator;
+	}
+
+}
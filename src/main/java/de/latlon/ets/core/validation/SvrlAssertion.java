@@ -0,0 +1,76 @@
+package de.latlon.ets.core.validation;
+
+/**
+ * A failed assert or successful report of a Schematron validation report (SVRL).
+ */
+public final class SvrlAssertion {
+
+	/**
+	 * The kind of an SVRL assertion.
+	 */
+	public enum Kind {
+
+		/** An svrl:failed-assert element. */
+		FAILED_ASSERT,
+
+		/** An svrl:successful-report element. */
+		SUCCESSFUL_REPORT
+
+	}
+
+	private final Kind kind;
+
+	private final String test;
+
+	private final String location;
+
+	private final String text;
+
+	/**
+	 * @param kind the kind of the assertion, never <code>null</code>
+	 * @param test the XPath expression that was tested, may be <code>null</code>
+	 * @param location the XPath expression locating the context node, may be
+	 * <code>null</code>
+	 * @param text the human readable message, may be <code>null</code>
+	 */
+	public SvrlAssertion(Kind kind, String test, String location, String text) {
+		this.kind = kind;
+		this.test = test;
+		this.location = location;
+		this.text = text;
+	}
+
+	/**
+	 * @return the kind of the assertion, never <code>null</code>
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return the XPath expression that was tested, may be <code>null</code>
+	 */
+	public String getTest() {
+		return test;
+	}
+
+	/**
+	 * @return the XPath expression locating the context node, may be <code>null</code>
+	 */
+	public String getLocation() {
+		return location;
+	}
+
+	/**
+	 * @return the human readable message, may be <code>null</code>
+	 */
+	public String getText() {
+		return text;
+	}
+
+	@Override
+	public String toString() {
+		return location + ": " + ((null != text) ? text : test);
+	}
+
+}
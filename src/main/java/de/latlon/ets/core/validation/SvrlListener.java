@@ -0,0 +1,19 @@
+package de.latlon.ets.core.validation;
+
+/**
+ * Receives the failed asserts and successful reports of a Schematron validation one at a
+ * time.
+ *
+ * @see SchematronValidatorCache#validate(java.net.URL, String,
+ * javax.xml.transform.Source, SvrlListener, int)
+ */
+@FunctionalInterface
+public interface SvrlListener {
+
+	/**
+	 * Invoked for each failed assert and successful report in document order.
+	 * @param assertion the assertion, never <code>null</code>
+	 */
+	void assertionReported(SvrlAssertion assertion);
+
+}
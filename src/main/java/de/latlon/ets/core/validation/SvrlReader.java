@@ -0,0 +1,219 @@
+package de.latlon.ets.core.validation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Result;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import de.latlon.ets.core.util.StandardNamespaces;
+import de.latlon.ets.core.util.XMLUtils;
+
+/**
+ * Iterates over the failed asserts (and optionally the successful reports) of a
+ * Schematron validation report (SVRL) one at a time in document order. A report written
+ * to a stream is read with a StAX cursor, so only the current assertion is held in
+ * memory; a DOM report is traversed in place.
+ */
+public final class SvrlReader implements Iterator<SvrlAssertion>, AutoCloseable {
+
+	/**
+	 * The SVRL namespace.
+	 */
+	public static final String SVRL_NS = StandardNamespaces.SVRL;
+
+	private static final XMLInputFactory STAX_FACTORY = createStaxFactory();
+
+	private final NodeList elements;
+
+	private final XMLStreamReader reader;
+
+	private final boolean includeReports;
+
+	private final InputStream stream;
+
+	private int index;
+
+	private SvrlAssertion next;
+
+	private SvrlReader(NodeList elements, boolean includeReports) {
+		this.elements = elements;
+		this.reader = null;
+		this.stream = null;
+		this.includeReports = includeReports;
+	}
+
+	private SvrlReader(XMLStreamReader reader, InputStream stream, boolean includeReports) {
+		this.elements = null;
+		this.reader = reader;
+		this.stream = stream;
+		this.includeReports = includeReports;
+	}
+
+	/**
+	 * Opens the given validation report to read the failed asserts.
+	 * @param result The SVRL report (DOMResult or StreamResult), never <code>null</code>.
+	 * @param charset The encoding of a StreamResult, never <code>null</code>.
+	 * @return a reader, never <code>null</code>; it must be closed
+	 * @throws IOException if the report cannot be read
+	 */
+	public static SvrlReader open(Result result, Charset charset) throws IOException {
+		return open(result, charset, false);
+	}
+
+	/**
+	 * Opens the given validation report.
+	 * @param result The SVRL report (DOMResult or StreamResult), never <code>null</code>.
+	 * @param charset The encoding of a StreamResult, never <code>null</code>.
+	 * @param includeReports <code>true</code> if successful reports are read as well,
+	 * <code>false</code> to read failed asserts only
+	 * @return a reader, never <code>null</code>; it must be closed
+	 * @throws IOException if the report cannot be read
+	 */
+	public static SvrlReader open(Result result, Charset charset, boolean includeReports) throws IOException {
+		if (result instanceof DOMResult) {
+			Node node = ((DOMResult) result).getNode();
+			Element root = (node.getNodeType() == Node.DOCUMENT_NODE)
+					? ((Document) node).getDocumentElement() : (Element) node;
+			return new SvrlReader(root.getElementsByTagNameNS(SVRL_NS, "*"), includeReports);
+		}
+		if (result instanceof StreamResult) {
+			InputStream stream = XMLUtils.openResultStream((StreamResult) result);
+			try {
+				return new SvrlReader(STAX_FACTORY.createXMLStreamReader(stream, charset.name()), stream,
+						includeReports);
+			}
+			catch (XMLStreamException e) {
+				stream.close();
+				throw new IOException("Failed to read SVRL report: " + e.getMessage(), e);
+			}
+		}
+		throw new IllegalArgumentException("Unsupported Result type:" + result);
+	}
+
+	/**
+	 * @throws IllegalStateException if the report is not well-formed
+	 */
+	@Override
+	public boolean hasNext() {
+		if (null == next) {
+			next = (null != elements) ? nextFromDom() : nextFromStream();
+		}
+		return null != next;
+	}
+
+	@Override
+	public SvrlAssertion next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		SvrlAssertion current = next;
+		next = null;
+		return current;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (null == reader)
+			return;
+		try {
+			reader.close();
+		}
+		catch (XMLStreamException e) {
+			// the underlying stream is closed anyway
+		}
+		finally {
+			stream.close();
+		}
+	}
+
+	private SvrlAssertion nextFromDom() {
+		while (index < elements.getLength()) {
+			Element element = (Element) elements.item(index++);
+			SvrlAssertion.Kind kind = kindOf(element.getLocalName());
+			if (null != kind) {
+				NodeList texts = element.getElementsByTagNameNS(SVRL_NS, "text");
+				String text = (texts.getLength() > 0) ? texts.item(0).getTextContent().trim() : null;
+				return new SvrlAssertion(kind, element.getAttribute("test"), element.getAttribute("location"), text);
+			}
+		}
+		return null;
+	}
+
+	private SvrlAssertion nextFromStream() {
+		try {
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT && SVRL_NS.equals(reader.getNamespaceURI())) {
+					SvrlAssertion.Kind kind = kindOf(reader.getLocalName());
+					if (null != kind)
+						return readAssertion(reader, kind);
+				}
+			}
+			return null;
+		}
+		catch (XMLStreamException e) {
+			throw new IllegalStateException("Failed to read SVRL report: " + e.getMessage(), e);
+		}
+	}
+
+	private SvrlAssertion.Kind kindOf(String localName) {
+		if ("failed-assert".equals(localName))
+			return SvrlAssertion.Kind.FAILED_ASSERT;
+		if (includeReports && "successful-report".equals(localName))
+			return SvrlAssertion.Kind.SUCCESSFUL_REPORT;
+		return null;
+	}
+
+	/**
+	 * Reads the current failed-assert or successful-report element, the cursor is
+	 * positioned at its end tag afterwards.
+	 */
+	private static SvrlAssertion readAssertion(XMLStreamReader reader, SvrlAssertion.Kind kind)
+			throws XMLStreamException {
+		String test = reader.getAttributeValue(null, "test");
+		String location = reader.getAttributeValue(null, "location");
+		StringBuilder text = null;
+		int textDepth = 0;
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				if (null == text && "text".equals(reader.getLocalName()) && SVRL_NS.equals(reader.getNamespaceURI())) {
+					text = new StringBuilder();
+					textDepth = depth;
+				}
+			}
+			else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (depth == textDepth)
+					textDepth = -1;
+				depth--;
+			}
+			else if (reader.isCharacters() && null != text && textDepth > 0) {
+				text.append(reader.getText());
+			}
+		}
+		return new SvrlAssertion(kind, test, location, (null != text) ? text.toString().trim() : null);
+	}
+
+	private static XMLInputFactory createStaxFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		return factory;
+	}
+
+}
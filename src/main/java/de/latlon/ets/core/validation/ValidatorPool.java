@@ -0,0 +1,84 @@
+package de.latlon.ets.core.validation;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+/**
+ * A bounded pool of {@link Validator}s created from the same {@link Schema}. A Validator
+ * is not thread-safe, a borrowed instance must be used by one thread only and must be
+ * released after use.
+ */
+public final class ValidatorPool {
+
+	private final Schema schema;
+
+	private final BlockingQueue<Validator> idleValidators;
+
+	private final AtomicInteger createdCount = new AtomicInteger();
+
+	/**
+	 * @param schema the schema to create validators from, never <code>null</code>
+	 * @param maxIdle the maximum number of idle validators kept in the pool, must be
+	 * greater than zero
+	 */
+	public ValidatorPool(Schema schema, int maxIdle) {
+		if (null == schema) {
+			throw new IllegalArgumentException("Schema must not be null.");
+		}
+		this.schema = schema;
+		this.idleValidators = new ArrayBlockingQueue<>(maxIdle);
+	}
+
+	/**
+	 * Takes an idle validator from the pool or creates a new one if none is available.
+	 * @return a validator, never <code>null</code>
+	 */
+	public Validator borrow() {
+		Validator validator = idleValidators.poll();
+		if (null == validator) {
+			createdCount.incrementAndGet();
+			validator = schema.newValidator();
+		}
+		return validator;
+	}
+
+	/**
+	 * Resets the given validator and returns it to the pool. It is discarded if the pool
+	 * already holds the maximum number of idle validators.
+	 * @param validator a validator obtained by {@link #borrow()}, may be
+	 * <code>null</code>
+	 */
+	public void release(Validator validator) {
+		if (null == validator)
+			return;
+		validator.reset();
+		idleValidators.offer(validator);
+	}
+
+	/**
+	 * @return the schema the validators of this pool are created from, never
+	 * <code>null</code>
+	 */
+	public Schema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * @return the number of idle validators
+	 */
+	public int getIdleCount() {
+		return idleValidators.size();
+	}
+
+	/**
+	 * @return the number of validators created by this pool
+	 */
+	public int getCreatedCount() {
+		return createdCount.get();
+	}
+
+}
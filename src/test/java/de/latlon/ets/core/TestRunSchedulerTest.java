@@ -0,0 +1,80 @@
+package de.latlon.ets.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link TestRunScheduler}.
+ */
+public class TestRunSchedulerTest {
+
+	@Test
+	public void testExecute() throws Exception {
+		TestRunScheduler scheduler = new TestRunScheduler(1, 0);
+
+		assertThat(scheduler.execute(() -> "result"), is("result"));
+		assertThat(scheduler.getCompletedCount(), is(1L));
+		assertThat(scheduler.getRunningCount(), is(0));
+	}
+
+	@Test
+	public void testExecute_queuedAndRejected() throws Exception {
+		TestRunScheduler scheduler = new TestRunScheduler(1, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService threads = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> running = threads.submit(() -> scheduler.execute(() -> {
+				started.countDown();
+				release.await();
+				return "first";
+			}));
+			started.await();
+			Future<String> queued = threads.submit(() -> scheduler.execute(() -> "second"));
+			while (scheduler.getQueueDepth() < 1) {
+				Thread.sleep(1);
+			}
+
+			try {
+				scheduler.execute(() -> "third");
+				throw new AssertionError("Expected RejectedExecutionException");
+			}
+			catch (RejectedExecutionException e) {
+				assertThat(scheduler.getRejectedCount(), is(1L));
+			}
+
+			release.countDown();
+			assertThat(running.get(10, TimeUnit.SECONDS), is("first"));
+			assertThat(queued.get(10, TimeUnit.SECONDS), is("second"));
+			assertThat(scheduler.getCompletedCount(), is(2L));
+			assertThat(scheduler.getMaxQueueDepth(), is(1));
+			assertThat(scheduler.getQueueDepth(), is(0));
+		}
+		finally {
+			threads.shutdownNow();
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testExecute_failedRunReleasesPermit() throws Exception {
+		TestRunScheduler scheduler = new TestRunScheduler(1, 0);
+		try {
+			scheduler.execute(() -> {
+				throw new IllegalStateException();
+			});
+		}
+		finally {
+			assertThat(scheduler.getRunningCount(), is(0));
+		}
+	}
+
+}
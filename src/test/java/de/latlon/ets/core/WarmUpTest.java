@@ -0,0 +1,56 @@
+package de.latlon.ets.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.latlon.ets.core.keyword.MatchMode;
+
+/**
+ * Tests for {@link WarmUp}.
+ */
+public class WarmUpTest {
+
+	@Test
+	public void testStart() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		WarmUp warmUp = new WarmUp().dfddKeywords(MatchMode.IGNORE_CASE).task("counter", calls::incrementAndGet);
+		assertThat(warmUp.getState(), is(WarmUp.State.PENDING));
+
+		warmUp.start("test");
+
+		assertThat(warmUp.awaitFinished(30, TimeUnit.SECONDS), is(true));
+		assertThat(warmUp.getState(), is(WarmUp.State.READY));
+		assertThat(warmUp.getFailureCount(), is(0));
+		assertThat(calls.get(), is(1));
+		assertThat(warmUp.getDurationMillis() >= 0, is(true));
+	}
+
+	@Test
+	public void testStart_failingTask() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		WarmUp warmUp = new WarmUp().task("failing", () -> {
+			throw new IllegalStateException("broken");
+		}).task("counter", calls::incrementAndGet);
+
+		warmUp.start("test");
+
+		assertThat(warmUp.awaitFinished(30, TimeUnit.SECONDS), is(true));
+		assertThat(warmUp.getState(), is(WarmUp.State.READY_WITH_FAILURES));
+		assertThat(warmUp.getFailureCount(), is(1));
+		assertThat(calls.get(), is(1));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTask_afterStart() throws Exception {
+		WarmUp warmUp = new WarmUp();
+		warmUp.start("test");
+
+		warmUp.task("late", () -> null);
+	}
+
+}
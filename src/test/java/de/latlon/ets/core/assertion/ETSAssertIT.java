@@ -1,6 +1,9 @@
 package de.latlon.ets.core.assertion;
 
 import static de.latlon.ets.core.assertion.ETSAssert.assertUriIsResolvable;
+import static de.latlon.ets.core.assertion.ETSAssert.assertUrisAreResolvable;
+
+import java.util.Arrays;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -31,4 +34,18 @@ public class ETSAssertIT {
 		assertUriIsResolvable("http://schemas.opengis.net/wms/1.3.0/capabilities_1_3_0.png");
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testAssertUrisAreResolvable() throws Exception {
+		assertUrisAreResolvable(Arrays.asList("http://schemas.opengis.net/wms/1.3.0/capabilities_1_3_0.xsd",
+				"http://schemas.opengis.net/wms/1.3.0/capabilities_1_3_0.xsd"));
+	}
+
+	@Test
+	public void testAssertUrisAreResolvable_OneInvalidUri() throws Exception {
+		thrown.expect(AssertionError.class);
+		thrown.expectMessage("1 of 2 URI(s)");
+		assertUrisAreResolvable(Arrays.asList("http://schemas.opengis.net/wms/1.3.0/capabilities_1_3_0.xsd",
+				"http://schemas.opengis.net/wms/1.3.0/capabilities_1_3_0.png"));
+	}
+
+}
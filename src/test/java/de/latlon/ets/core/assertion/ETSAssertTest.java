@@ -2,10 +2,32 @@ package de.latlon.ets.core.assertion;
 
 import static de.latlon.ets.core.assertion.ETSAssert.assertUrl;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
+import org.xml.sax.InputSource;
 
+import de.latlon.ets.core.util.NamespaceBindings;
+import de.latlon.ets.core.util.XdmDocument;
+import de.latlon.ets.core.validation.SchemaRegistry;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 
@@ -32,6 +54,94 @@ public class ETSAssertTest {
 		ETSAssert.assertContentType(headers, "text/xml");
 	}
 
+	@Test
+	public void testAssertXPaths() throws Exception {
+		ETSAssert.assertXPaths(parseCapabilities(), wmsBindings(),
+				Arrays.asList("/wms:WMS_Capabilities", "count(//wms:Layer) = 2", "//wms:Layer/wms:Name = 'roads'"));
+	}
+
+	@Test
+	public void testAssertXPaths_reportsAllFailures() throws Exception {
+		thrown.expect(AssertionError.class);
+		thrown.expectMessage("2 of 3 XPath expression(s)");
+		ETSAssert.assertXPaths(parseCapabilities(), wmsBindings(),
+				Arrays.asList("/wms:WMS_Capabilities", "count(//wms:Layer) = 3", "//wms:Layer/wms:Name = 'rivers'"));
+	}
+
+	@Test
+	public void testAssertXPath2() throws Exception {
+		try (XdmDocument document = XdmDocument.build(parseCapabilities(), getClass())) {
+			ETSAssert.assertXPath2("every $name in //wms:Layer/wms:Name satisfies string-length($name) = 5", document,
+					wmsBindings().getAllBindings());
+		}
+	}
+
+	@Test
+	public void testAssertXPath2_expectFalse() throws Exception {
+		thrown.expect(AssertionError.class);
+		thrown.expectMessage("context node wms:WMS_Capabilities");
+		try (XdmDocument document = XdmDocument.build(parseCapabilities(), getClass())) {
+			ETSAssert.assertXPath2("count(//wms:Layer) = 3", document, wmsBindings().getAllBindings());
+		}
+	}
+
+	@Test
+	public void testAssertSchemaValid_stream() throws Exception {
+		ETSAssert.assertSchemaValid(simpleSchema(), layer("<s:Name>roads</s:Name>"));
+	}
+
+	@Test
+	public void testAssertSchemaValid_abortAfterMaxErrors() throws Exception {
+		thrown.expect(AssertionError.class);
+		thrown.expectMessage("Validation aborted after 1 error(s)");
+		ETSAssert.assertSchemaValid(simpleSchema(), new StreamSource(layer("<s:Title>roads</s:Title><s:Other/>")), 1);
+	}
+
+	@Test
+	public void testAssertSchematronValid_successfulReport() throws Exception {
+		thrown.expect(AssertionError.class);
+		thrown.expectMessage("Name roads starts with r.");
+		ETSAssert.assertSchematronValid(namesSchematron(), new StreamSource(layer("<s:Name>roads</s:Name>")));
+	}
+
+	@Test
+	public void testAssertSchematronValid_omittedFailedAsserts() throws Exception {
+		thrown.expect(AssertionError.class);
+		thrown.expectMessage("+1 more error(s) not shown.");
+		ETSAssert.assertSchematronValid(namesSchematron(),
+				new StreamSource(layer("<s:Name>rivers</s:Name><s:Name>roadway</s:Name><s:Name>railway</s:Name>")), 2);
+	}
+
+	@Test
+	public void testAssertDescendantElementCount_stream() throws Exception {
+		ETSAssert.assertDescendantElementCount(layer("<s:Name>roads</s:Name><s:Name>lakes</s:Name>"),
+				new QName("http://www.example.org/simple", "Name"), 2);
+	}
+
+	@Test
+	public void testAssertDescendantElementCount_streamMoreThanExpected() throws Exception {
+		thrown.expect(AssertionError.class);
+		ETSAssert.assertDescendantElementCount(layer("<s:Name>roads</s:Name><s:Name>lakes</s:Name>"),
+				new QName("http://www.example.org/simple", "Name"), 1);
+	}
+
+	@Test
+	public void testAssertDescendantElementCount_staxSource() throws Exception {
+		XMLStreamReader reader = XMLInputFactory.newInstance()
+			.createXMLStreamReader(layer("<s:Name>roads</s:Name><s:Name>lakes</s:Name>"));
+		ETSAssert.assertDescendantElementCount(new StAXSource(reader),
+				new QName("http://www.example.org/simple", "Name"), 2);
+	}
+
+	@Test
+	public void testAssertDescendantElementCount_documentFragment() throws Exception {
+		Document capabilities = parseCapabilities();
+		DocumentFragment fragment = capabilities.createDocumentFragment();
+		fragment.appendChild(capabilities.getDocumentElement());
+		ETSAssert.assertDescendantElementCount(new DOMSource(fragment),
+				new QName("http://www.opengis.net/wms", "Layer"), 2);
+	}
+
 	@Test
 	public void testAssertUrl() throws Exception {
 		assertUrl("http://validurl.de/test");
@@ -49,4 +159,32 @@ public class ETSAssertTest {
 		assertUrl("invalid url");
 	}
 
+	private Document parseCapabilities() throws Exception {
+		String capabilities = "<wms:WMS_Capabilities xmlns:wms=\"http://www.opengis.net/wms\"><wms:Capability>"
+				+ "<wms:Layer><wms:Name>roads</wms:Name></wms:Layer><wms:Layer><wms:Name>lakes</wms:Name></wms:Layer>"
+				+ "</wms:Capability></wms:WMS_Capabilities>";
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		return factory.newDocumentBuilder().parse(new InputSource(new StringReader(capabilities)));
+	}
+
+	private NamespaceBindings wmsBindings() {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addNamespaceBinding("http://www.opengis.net/wms", "wms");
+		return nsBindings;
+	}
+
+	private Schema simpleSchema() throws Exception {
+		return SchemaRegistry.getSchema(getClass().getResource("/de/latlon/ets/core/validation/simple.xsd"));
+	}
+
+	private URL namesSchematron() {
+		return getClass().getResource("/de/latlon/ets/core/validation/names.sch");
+	}
+
+	private InputStream layer(String content) {
+		String layer = "<s:Layer xmlns:s=\"http://www.example.org/simple\">" + content + "</s:Layer>";
+		return new ByteArrayInputStream(layer.getBytes(StandardCharsets.UTF_8));
+	}
+
 }
@@ -0,0 +1,78 @@
+package de.latlon.ets.core.error;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link FailureReport}.
+ */
+public class FailureReportTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void testToString_entriesOmitted() throws Exception {
+		FailureReport report = new FailureReport(1024, 2, null);
+		for (int i = 1; i <= 5; i++) {
+			report.addEntry("error " + i);
+		}
+		String msg = report.toString();
+		assertThat(msg, containsString("error 2"));
+		assertThat(msg, not(containsString("error 3")));
+		assertThat(msg, containsString("+3 more error(s)"));
+		assertThat(report.getEntryCount(), is(5));
+	}
+
+	@Test
+	public void testToString_entriesNotAdded() throws Exception {
+		FailureReport report = new FailureReport(1024, 2, null);
+		for (int i = 1; i <= 3; i++) {
+			report.addEntry("error " + i);
+		}
+		report.addOmittedEntries(4);
+		assertThat(report.toString(), containsString("+5 more error(s)"));
+	}
+
+	@Test
+	public void testToString_truncated() throws Exception {
+		FailureReport report = new FailureReport(10, 0, null);
+		report.getWriter().write("0123456789abcdef");
+		String msg = report.toString();
+		assertThat(msg, containsString("0123456789"));
+		assertThat(msg, not(containsString("abcdef")));
+		assertThat(msg, containsString("+6 more character(s)"));
+	}
+
+	@Test
+	public void testToString_spillFile() throws Exception {
+		Path spillFile = tempFolder.newFile("report.txt").toPath();
+		FailureReport report = new FailureReport(1024, 1, spillFile);
+		report.addEntry("error 1");
+		report.addEntry("error 2");
+		String msg = report.toString();
+		assertThat(msg, containsString(spillFile.toUri().toString()));
+		List<String> lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+		assertThat(lines.size(), is(2));
+		assertThat(lines.get(1), is("error 2"));
+	}
+
+	@Test
+	public void testToString_complete() throws Exception {
+		FailureReport report = new FailureReport(1024, 10, null);
+		report.addEntry("error 1");
+		assertThat(report.toString(), is("error 1\n"));
+	}
+
+}
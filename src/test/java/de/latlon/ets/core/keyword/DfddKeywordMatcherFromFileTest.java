@@ -50,4 +50,31 @@ public class DfddKeywordMatcherFromFileTest {
 		assertThat(containsAtLeastOneDfddKeyword, is(false));
 	}
 
+	@Test
+	public void testContainsAtLeastOneDfddKeyword_ignoreCase() throws Exception {
+		DfddKeywordMatcher dfddKeywordMatcher = new DfddKeywordMatcherFromFile(MatchMode.IGNORE_CASE);
+		List<String> keywords = Collections.singletonList("BOREHOLE");
+		boolean containsAtLeastOneDfddKeyword = dfddKeywordMatcher.containsAtLeastOneDfddKeyword(keywords);
+
+		assertThat(containsAtLeastOneDfddKeyword, is(true));
+	}
+
+	@Test
+	public void testContainsAtLeastOneDfddKeyword_normalized() throws Exception {
+		DfddKeywordMatcher dfddKeywordMatcher = new DfddKeywordMatcherFromFile(MatchMode.NORMALIZED);
+		List<String> keywords = Collections.singletonList("Administrative boundary");
+		boolean containsAtLeastOneDfddKeyword = dfddKeywordMatcher.containsAtLeastOneDfddKeyword(keywords);
+
+		assertThat(containsAtLeastOneDfddKeyword, is(true));
+	}
+
+	@Test
+	public void testFindDfddKeywords() throws Exception {
+		DfddKeywordMatcher dfddKeywordMatcher = new DfddKeywordMatcherFromFile();
+		List<String> keywords = Arrays.asList("other", "Borehole", "borehole", "AdministrativeBoundary");
+		List<String> dfddKeywords = dfddKeywordMatcher.findDfddKeywords(keywords);
+
+		assertThat(dfddKeywords, is(Arrays.asList("Borehole", "AdministrativeBoundary")));
+	}
+
 }
@@ -0,0 +1,51 @@
+package de.latlon.ets.core.keyword;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link DfddTermScanner}.
+ */
+public class DfddTermScannerTest {
+
+	private static final String TEXT = "Borehole locations and administrative boundaries; AdministrativeBoundary.";
+
+	@Test
+	public void testScan_exact() throws Exception {
+		List<DfddTermMatch> matches = new DfddTermScanner(register(), MatchMode.EXACT).scan(TEXT);
+
+		assertThat(matches.size(), is(2));
+		assertThat(matches.get(0).getKeyword(), is("Borehole"));
+		assertThat(matches.get(0).getStart(), is(0));
+		assertThat(matches.get(0).getEnd(), is(8));
+		assertThat(matches.get(1).getKeyword(), is("AdministrativeBoundary"));
+		assertThat(matches.get(1).getStart(), is(50));
+	}
+
+	@Test
+	public void testScan_wordBoundaries() throws Exception {
+		List<DfddTermMatch> matches = new DfddTermScanner(register(), MatchMode.IGNORE_CASE).scan("Boreholes");
+
+		assertThat(matches.isEmpty(), is(true));
+	}
+
+	@Test
+	public void testScan_normalized() throws Exception {
+		List<DfddTermMatch> matches = new DfddTermScanner(register(), MatchMode.NORMALIZED)
+			.scan("administrative boundary");
+
+		assertThat(matches.size(), is(2));
+		assertThat(matches.get(0).getKeyword(), is("AdministrativeBoundary"));
+		assertThat(matches.get(1).getKeyword(), is("Boundary"));
+	}
+
+	private DfddKeywordRegister register() throws Exception {
+		return DfddKeywordRegister.parse(new StringReader("Borehole\nAdministrativeBoundary\nBoundary\n"));
+	}
+
+}
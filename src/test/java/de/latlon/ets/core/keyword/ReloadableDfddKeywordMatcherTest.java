@@ -0,0 +1,68 @@
+package de.latlon.ets.core.keyword;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link ReloadableDfddKeywordMatcher}.
+ */
+public class ReloadableDfddKeywordMatcherTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void testContainsAtLeastOneDfddKeyword_externalRegister() throws Exception {
+		File register = writeRegister("Alpha\nBeta\n", 1000);
+		DfddKeywordMatcher dfddKeywordMatcher = new ReloadableDfddKeywordMatcher(register.toURI(), MatchMode.EXACT,
+				0);
+
+		assertThat(dfddKeywordMatcher.containsAtLeastOneDfddKeyword(Collections.singletonList("Beta")), is(true));
+		assertThat(dfddKeywordMatcher.containsAtLeastOneDfddKeyword(Collections.singletonList("Borehole")),
+				is(false));
+	}
+
+	@Test
+	public void testReload_modifiedRegister() throws Exception {
+		File register = writeRegister("Alpha\n", 1000);
+		ReloadableDfddKeywordMatcher dfddKeywordMatcher = new ReloadableDfddKeywordMatcher(register.toURI(),
+				MatchMode.EXACT, 0);
+		assertThat(dfddKeywordMatcher.reload(), is(false));
+
+		writeRegister("Gamma\n", 2000);
+
+		assertThat(dfddKeywordMatcher.containsAtLeastOneDfddKeyword(Collections.singletonList("Gamma")), is(true));
+		assertThat(dfddKeywordMatcher.containsAtLeastOneDfddKeyword(Collections.singletonList("Alpha")), is(false));
+	}
+
+	@Test
+	public void testReload_touchedRegister() throws Exception {
+		File register = writeRegister("Alpha\n", 1000);
+		ReloadableDfddKeywordMatcher dfddKeywordMatcher = new ReloadableDfddKeywordMatcher(register.toURI(),
+				MatchMode.EXACT, 0);
+		DfddKeywordRegister loaded = dfddKeywordMatcher.getRegister();
+
+		writeRegister("Alpha\n", 2000);
+
+		assertThat(dfddKeywordMatcher.reload(), is(false));
+		assertThat(dfddKeywordMatcher.getRegister() == loaded, is(true));
+	}
+
+	private File writeRegister(String keywords, long lastModified) throws Exception {
+		File register = new File(tempFolder.getRoot(), "dfdd.keywords");
+		Files.write(register.toPath(), keywords.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(register.toPath(), FileTime.fromMillis(lastModified));
+		return register;
+	}
+
+}
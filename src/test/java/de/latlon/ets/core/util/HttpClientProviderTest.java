@@ -0,0 +1,122 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link HttpClientProvider} using a local HTTP server.
+ */
+public class HttpClientProviderTest {
+
+	private HttpServer server;
+
+	private ExecutorService serverThreads;
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	private final AtomicInteger maxActive = new AtomicInteger();
+
+	private volatile long delayMillis;
+
+	@Before
+	public void startServer() throws IOException {
+		serverThreads = Executors.newFixedThreadPool(8);
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(serverThreads);
+		server.start();
+	}
+
+	@After
+	public void stopServer() {
+		server.stop(0);
+		serverThreads.shutdownNow();
+		System.clearProperty(HttpClientProvider.MAX_CONNECTIONS_PER_HOST_PROPERTY);
+	}
+
+	@Test
+	public void testGet() throws Exception {
+		String content = HttpClientProvider.get(uri("/layers"), rsp -> rsp.readEntity(String.class));
+
+		assertThat(content, is("GET /layers"));
+	}
+
+	@Test
+	public void testExecute_headers() throws Exception {
+		String content = HttpClientProvider.execute(uri("/echo"), "GET",
+				Collections.<String, Object>singletonMap("X-Echo", "roads"), rsp -> rsp.readEntity(String.class));
+
+		assertThat(content, is("roads"));
+	}
+
+	@Test
+	public void testExecute_limitsConcurrentRequestsPerHost() throws Exception {
+		// the limit applies to hosts not contacted before, the port of the server is new
+		System.setProperty(HttpClientProvider.MAX_CONNECTIONS_PER_HOST_PROPERTY, "2");
+		delayMillis = 100;
+		ExecutorService clients = Executors.newFixedThreadPool(6);
+		try {
+			List<Future<Integer>> responses = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				responses.add(clients.submit(() -> HttpClientProvider.get(uri("/layers"), rsp -> rsp.getStatus())));
+			}
+			for (Future<Integer> response : responses) {
+				assertThat(response.get(10, TimeUnit.SECONDS), is(200));
+			}
+		}
+		finally {
+			clients.shutdownNow();
+		}
+		assertThat(maxActive.get() <= 2, is(true));
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+		try (InputStream in = exchange.getRequestBody()) {
+			if (delayMillis > 0)
+				Thread.sleep(delayMillis);
+			String echo = exchange.getRequestHeaders().getFirst("X-Echo");
+			String content = (null != echo) ? echo
+					: exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "text/plain");
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			active.decrementAndGet();
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link NamespaceBindings}.
+ */
+public class NamespaceBindingsTest {
+
+	@Test
+	public void testGetNamespaceURI() {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addNamespaceBinding(StandardNamespaces.WMS, "wms");
+
+		assertThat(nsBindings.getNamespaceURI("wms"), is(StandardNamespaces.WMS));
+		assertThat(nsBindings.getNamespaceURI("ows"), nullValue());
+		assertThat(nsBindings.getPrefix(StandardNamespaces.WMS), is("wms"));
+	}
+
+	@Test
+	public void testAddNamespaceBinding_replacesPrefix() {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addNamespaceBinding(StandardNamespaces.WMS, "wms");
+		nsBindings.addNamespaceBinding(StandardNamespaces.WMS, "w");
+
+		assertThat(nsBindings.getNamespaceURI("w"), is(StandardNamespaces.WMS));
+		assertThat(nsBindings.getNamespaceURI("wms"), nullValue());
+	}
+
+	@Test
+	public void testFreeze() {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addNamespaceBinding(StandardNamespaces.WMS, "wms");
+		NamespaceBindings frozen = nsBindings.freeze();
+
+		assertThat(frozen.isFrozen(), is(true));
+		assertThat(frozen, is(nsBindings));
+		assertThat(frozen.hashCode(), is(nsBindings.hashCode()));
+		assertThat(frozen.freeze(), sameInstance(frozen));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testFreeze_immutable() {
+		StandardNamespaces.ALL.addNamespaceBinding("http://www.example.org/", "ex");
+	}
+
+}
@@ -0,0 +1,54 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/**
+ * Tests for {@link ParserPool}.
+ */
+public class ParserPoolTest {
+
+	private static final String XML = "<wms:WMS_Capabilities xmlns:wms=\"http://www.opengis.net/wms\"/>";
+
+	@Test
+	public void testParse_namespaceAware() throws Exception {
+		Document document = ParserPool.parse(stream(), ParserProfile.NAMESPACE_AWARE);
+
+		assertThat(document.getDocumentElement().getNamespaceURI(), is("http://www.opengis.net/wms"));
+	}
+
+	@Test
+	public void testParse_default() throws Exception {
+		Document document = ParserPool.parse(stream(), ParserProfile.DEFAULT);
+
+		assertThat(document.getDocumentElement().getNamespaceURI(), nullValue());
+	}
+
+	@Test
+	public void testParse_deferred() throws Exception {
+		Document document = ParserPool.parse(stream(), ParserProfile.XINCLUDE_DEFERRED);
+
+		assertThat(document.getDocumentElement().getNamespaceURI(), is("http://www.opengis.net/wms"));
+	}
+
+	@Test
+	public void testParse_reusedBuilder() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			Document document = ParserPool.parse(stream(), ParserProfile.SECURE);
+			assertThat(document.getDocumentElement().getLocalName(), is("WMS_Capabilities"));
+		}
+	}
+
+	private InputStream stream() {
+		return new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,148 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link UriContentCache} using a local HTTP server.
+ */
+public class UriContentCacheTest {
+
+	private static final String ETAG = "\"v1\"";
+
+	private HttpServer server;
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final AtomicInteger downloads = new AtomicInteger();
+
+	@Before
+	public void startServer() throws IOException {
+		UriContentCache.clear();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	@After
+	public void stopServer() throws IOException {
+		server.stop(0);
+		System.clearProperty(UriContentCache.MAX_SIZE_PROPERTY);
+		UriContentCache.clear();
+	}
+
+	@Test
+	public void testGet_notModified() throws Exception {
+		File first = UriContentCache.get(uri("/layers"));
+		File second = UriContentCache.get(uri("/layers"));
+
+		assertThat(second, is(first));
+		assertThat(new String(Files.readAllBytes(second.toPath()), StandardCharsets.UTF_8), is("content of /layers"));
+		assertThat(requests.get(), is(2));
+		assertThat(downloads.get(), is(1));
+	}
+
+	@Test
+	public void testGet_notModifiedWithoutCachedEntity() throws Exception {
+		UriContentCache.get(uri("/vanishing"));
+		File second = UriContentCache.get(uri("/vanishing"));
+
+		assertThat(new String(Files.readAllBytes(second.toPath()), StandardCharsets.UTF_8),
+				is("content of /vanishing"));
+		assertThat(requests.get(), is(3));
+		assertThat(downloads.get(), is(2));
+	}
+
+	@Test(expected = IOException.class)
+	public void testGet_errorResponse() throws Exception {
+		UriContentCache.get(uri("/missing"));
+	}
+
+	@Test
+	public void testGet_errorResponseNotCached() throws Exception {
+		try {
+			UriContentCache.get(uri("/unavailableOnce"));
+		}
+		catch (IOException e) {
+			// expected, the server is unavailable on the first request
+		}
+		File file = UriContentCache.get(uri("/unavailableOnce"));
+
+		assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8),
+				is("content of /unavailableOnce"));
+		assertThat(downloads.get(), is(1));
+	}
+
+	@Test
+	public void testGet_evictsLeastRecentlyUsed() throws Exception {
+		System.setProperty(UriContentCache.MAX_SIZE_PROPERTY, "30");
+		File roads = UriContentCache.get(uri("/roads"));
+		long expired = System.currentTimeMillis() - UriContentCache.EVICTION_GRACE_MILLIS - 1000;
+		Files.setLastModifiedTime(roads.toPath(), FileTime.fromMillis(expired));
+
+		File lakes = UriContentCache.get(uri("/lakes"));
+
+		assertThat(roads.exists(), is(false));
+		assertThat(lakes.exists(), is(true));
+	}
+
+	@Test
+	public void testGet_keepsRecentlyRetrievedEntry() throws Exception {
+		System.setProperty(UriContentCache.MAX_SIZE_PROPERTY, "30");
+		File roads = UriContentCache.get(uri("/roads"));
+
+		File lakes = UriContentCache.get(uri("/lakes"));
+
+		assertThat(roads.exists(), is(true));
+		assertThat(lakes.exists(), is(true));
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int request = requests.incrementAndGet();
+		String path = exchange.getRequestURI().getPath();
+		if ("/missing".equals(path) || ("/unavailableOnce".equals(path) && request == 1)) {
+			exchange.sendResponseHeaders("/missing".equals(path) ? 404 : 503, -1);
+			exchange.close();
+			return;
+		}
+		if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			if ("/vanishing".equals(path)) {
+				// the cached entity disappears while the request is processed
+				UriContentCache.clear();
+			}
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+		downloads.incrementAndGet();
+		byte[] content = ("content of " + path).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/plain");
+		exchange.getResponseHeaders().add("ETag", ETAG);
+		exchange.sendResponseHeaders(200, content.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content);
+		}
+	}
+
+}
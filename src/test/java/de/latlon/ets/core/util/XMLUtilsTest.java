@@ -0,0 +1,56 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringReader;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests for {@link XMLUtils}.
+ */
+public class XMLUtilsTest {
+
+	@Test
+	public void testWriteNodeSummary() throws Exception {
+		Document doc = parse("<root a=\"1\"><child>  text  </child></root>");
+
+		String summary = XMLUtils.writeNodeSummary(doc.getDocumentElement(), 100);
+
+		assertThat(summary, is("root (depth: 1, children: 1)\n<root a=\"1\"><child>text</child></root>"));
+	}
+
+	@Test
+	public void testWriteNodeSummary_truncatesLongText() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			text.append("abcdefghij");
+		}
+		Document doc = parse("<root><child>" + text + "</child></root>");
+
+		String summary = XMLUtils.writeNodeSummary(doc.getDocumentElement(), 20);
+
+		assertThat(summary, is("root (depth: 1, children: 1)\n<root><child>abcdefg..."));
+	}
+
+	@Test
+	public void testWriteNodeSummary_truncatesLongAttribute() throws Exception {
+		Document doc = parse("<root name=\"abcdefghijklmnopqrstuvwxyz\"/>");
+
+		String summary = XMLUtils.writeNodeSummary(doc.getDocumentElement(), 16);
+
+		assertThat(summary, is("root (depth: 1, children: 0)\n<root name=\"abcd..."));
+	}
+
+	private Document parse(String xml) throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+	}
+
+}
@@ -0,0 +1,72 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XPathExecutable;
+
+/**
+ * Tests for {@link XPath2ExecutableCache}.
+ */
+public class XPath2ExecutableCacheTest {
+
+	@Before
+	public void clearCache() {
+		XPath2ExecutableCache.clear();
+		XPath2ExecutableCache.resetStatistics();
+	}
+
+	@Test
+	public void testCompile_sameExpressionAndBindings() throws Exception {
+		XPathExecutable first = XPath2ExecutableCache.compile("//wms:Layer", bindings("wms"));
+		XPathExecutable second = XPath2ExecutableCache.compile("//wms:Layer", bindings("wms"));
+
+		assertThat(second, sameInstance(first));
+		assertThat(XPath2ExecutableCache.getMissCount(), is(1L));
+		assertThat(XPath2ExecutableCache.getHitCount(), is(1L));
+	}
+
+	@Test
+	public void testCompile_differentBindings() throws Exception {
+		XPathExecutable first = XPath2ExecutableCache.compile("//wms:Layer", bindings("wms"));
+		XPathExecutable second = XPath2ExecutableCache.compile("//wms:Layer", bindings("other"));
+
+		assertThat(second, not(sameInstance(first)));
+		assertThat(XPath2ExecutableCache.getMissCount(), is(2L));
+	}
+
+	@Test
+	public void testCompile_withoutBindings() throws Exception {
+		XPathExecutable first = XPath2ExecutableCache.compile("count(//*)", null);
+		XPathExecutable second = XPath2ExecutableCache.compile("count(//*)", null);
+
+		assertThat(second, sameInstance(first));
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		XPathExecutable first = XPath2ExecutableCache.compile("count(//*)", null);
+		XPath2ExecutableCache.clear();
+
+		assertThat(XPath2ExecutableCache.compile("count(//*)", null), not(sameInstance(first)));
+	}
+
+	@Test(expected = SaxonApiException.class)
+	public void testCompile_invalidExpression() throws Exception {
+		XPath2ExecutableCache.compile("//wms:Layer[", bindings("wms"));
+	}
+
+	private Map<String, String> bindings(String prefix) {
+		return Collections.singletonMap("http://www.opengis.net/wms", prefix);
+	}
+
+}
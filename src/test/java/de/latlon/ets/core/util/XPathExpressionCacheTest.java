@@ -0,0 +1,97 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import javax.xml.xpath.XPathExpression;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link XPathExpressionCache}.
+ */
+public class XPathExpressionCacheTest {
+
+	@Before
+	public void clearCache() {
+		XPathExpressionCache.clear();
+		XPathExpressionCache.resetStatistics();
+	}
+
+	@Test
+	public void testCompile_sameExpressionAndBindings() throws Exception {
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", bindings("wms"));
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", bindings("wms"));
+
+		assertThat(second, sameInstance(first));
+		assertThat(XPathExpressionCache.getMissCount(), is(1L));
+		assertThat(XPathExpressionCache.getHitCount(), is(1L));
+	}
+
+	@Test
+	public void testCompile_differentBindings() throws Exception {
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", bindings("wms"));
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", bindings("other"));
+
+		assertThat(second, not(sameInstance(first)));
+		assertThat(XPathExpressionCache.getMissCount(), is(2L));
+	}
+
+	@Test
+	public void testCompile_modifiedBindingsAreNotShared() throws Exception {
+		NamespaceBindings nsBindings = bindings("wms");
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", nsBindings);
+		nsBindings.addNamespaceBinding("http://www.w3.org/1999/xlink", "xlink");
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", nsBindings);
+
+		assertThat(second, not(sameInstance(first)));
+	}
+
+	@Test
+	public void testCompile_keyUnaffectedByModifiedBindings() throws Exception {
+		NamespaceBindings nsBindings = bindings("wms");
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", nsBindings);
+		nsBindings.addNamespaceBinding("http://www.w3.org/1999/xlink", "xlink");
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", bindings("wms"));
+
+		assertThat(second, sameInstance(first));
+	}
+
+	@Test
+	public void testCompile_frozenBindings() throws Exception {
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", StandardNamespaces.ALL);
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", StandardNamespaces.newBindings().freeze());
+
+		assertThat(second, sameInstance(first));
+	}
+
+	@Test
+	public void testCompile_mutableAndFrozenBindings() throws Exception {
+		NamespaceBindings nsBindings = bindings("wms");
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", nsBindings.freeze());
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", nsBindings);
+
+		assertThat(second, sameInstance(first));
+		assertThat(XPathExpressionCache.getHitCount(), is(1L));
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		XPathExpression first = XPathExpressionCache.compile("//wms:Layer", bindings("wms"));
+		XPathExpressionCache.clear();
+		XPathExpression second = XPathExpressionCache.compile("//wms:Layer", bindings("wms"));
+
+		assertThat(second, not(sameInstance(first)));
+		assertThat(XPathExpressionCache.getMissCount(), is(2L));
+	}
+
+	private NamespaceBindings bindings(String wmsPrefix) {
+		NamespaceBindings nsBindings = new NamespaceBindings();
+		nsBindings.addNamespaceBinding("http://www.opengis.net/wms", wmsPrefix);
+		return nsBindings;
+	}
+
+}
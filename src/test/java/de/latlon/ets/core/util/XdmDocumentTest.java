@@ -0,0 +1,76 @@
+package de.latlon.ets.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.util.Collections;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.Test;
+import org.testng.ITestClass;
+
+import net.sf.saxon.s9api.XdmValue;
+
+/**
+ * Tests for {@link XdmDocument} and {@link XdmDocumentReleaseListener}.
+ */
+public class XdmDocumentTest {
+
+	private static final String LAYERS = "<Layers><Layer name=\"roads\"/><Layer name=\"lakes\"/></Layers>";
+
+	@Test
+	public void testBuild() throws Exception {
+		long openNodes = XdmDocument.getOpenNodeCount();
+		try (XdmDocument document = XdmDocument.build(layers())) {
+			assertThat(document.getNodeCount() >= 6, is(true));
+			assertThat(XdmDocument.getOpenNodeCount(), is(openNodes + document.getNodeCount()));
+			assertThat(document.isClosed(), is(false));
+		}
+		assertThat(XdmDocument.getOpenNodeCount(), is(openNodes));
+	}
+
+	@Test
+	public void testEvaluateXPath2() throws Exception {
+		try (XdmDocument document = XdmDocument.build(layers())) {
+			XdmValue names = XMLUtils.evaluateXPath2(document, "//Layer/@name/string()",
+					Collections.<String, String>emptyMap());
+
+			assertThat(names.size(), is(2));
+			assertThat(names.itemAt(1).getStringValue(), is("lakes"));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGetNode_closed() throws Exception {
+		XdmDocument document = XdmDocument.build(layers());
+		document.close();
+
+		document.getNode();
+	}
+
+	@Test
+	public void testOnAfterClass_releasesDocumentsOfTestClass() throws Exception {
+		XdmDocument owned = XdmDocument.build(layers(), OwningTestClass.class);
+		XdmDocument other = XdmDocument.build(layers(), getClass());
+		ITestClass testClass = mock(ITestClass.class);
+		when(testClass.getRealClass()).thenReturn(OwningTestClass.class);
+
+		new XdmDocumentReleaseListener().onAfterClass(testClass);
+
+		assertThat(owned.isClosed(), is(true));
+		assertThat(other.isClosed(), is(false));
+		other.close();
+	}
+
+	private StreamSource layers() {
+		return new StreamSource(new StringReader(LAYERS));
+	}
+
+	private static class OwningTestClass {
+	}
+
+}
@@ -0,0 +1,47 @@
+package de.latlon.ets.core.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.net.URL;
+
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SchemaRegistry}.
+ */
+public class SchemaRegistryTest {
+
+	@After
+	public void clearRegistry() {
+		SchemaRegistry.clear();
+	}
+
+	@Test
+	public void testGetSchema_compiledOnce() throws Exception {
+		URL schemaLocation = getClass().getResource("simple.xsd");
+		Schema schema = SchemaRegistry.getSchema(schemaLocation);
+
+		assertThat(SchemaRegistry.getSchema(schemaLocation), sameInstance(schema));
+	}
+
+	@Test
+	public void testGetValidatorPool_reusesValidator() throws Exception {
+		Schema schema = SchemaRegistry.getSchema(getClass().getResource("simple.xsd"));
+		ValidatorPool pool = SchemaRegistry.getValidatorPool(schema);
+		assertThat(pool, notNullValue());
+
+		Validator validator = pool.borrow();
+		pool.release(validator);
+
+		assertThat(pool.borrow(), sameInstance(validator));
+		assertThat(pool.getCreatedCount(), is(1));
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.latlon.ets.core.validation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Result;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link SvrlReader}.
+ */
+public class SvrlReaderTest {
+
+	@Test
+	public void testRead_streamResult() throws Exception {
+		StreamResult result = new StreamResult(getClass().getResource("report.svrl").toURI().toString());
+		assertFailedAsserts(readAll(result));
+	}
+
+	@Test
+	public void testRead_domResult() throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		try (InputStream report = getClass().getResourceAsStream("report.svrl")) {
+			assertFailedAsserts(readAll(new DOMResult(factory.newDocumentBuilder().parse(report))));
+		}
+	}
+
+	@Test
+	public void testRead_includeReports() throws Exception {
+		StreamResult result = new StreamResult(getClass().getResource("report.svrl").toURI().toString());
+		List<SvrlAssertion> assertions = new ArrayList<>();
+		try (SvrlReader reader = SvrlReader.open(result, StandardCharsets.UTF_8, true)) {
+			reader.forEachRemaining(assertions::add);
+		}
+		assertThat(assertions.size(), is(3));
+		assertThat(assertions.get(1).getKind(), is(SvrlAssertion.Kind.SUCCESSFUL_REPORT));
+		assertThat(assertions.get(1).getText(), is("Layer has a name."));
+	}
+
+	private List<SvrlAssertion> readAll(Result result) throws Exception {
+		List<SvrlAssertion> failedAsserts = new ArrayList<>();
+		try (SvrlReader reader = SvrlReader.open(result, StandardCharsets.UTF_8)) {
+			reader.forEachRemaining(failedAsserts::add);
+		}
+		return failedAsserts;
+	}
+
+	private void assertFailedAsserts(List<SvrlAssertion> failedAsserts) {
+		assertThat(failedAsserts.size(), is(2));
+		assertThat(failedAsserts.get(0).getKind(), is(SvrlAssertion.Kind.FAILED_ASSERT));
+		assertThat(failedAsserts.get(0).getLocation(), is("/*:Layer[1]"));
+		assertThat(failedAsserts.get(0).getText(), is("Layer roads has no title."));
+		assertThat(failedAsserts.get(1).getTest(), is("string-length(s:Name) < 10"));
+	}
+
+}